@@ -0,0 +1,96 @@
+package com.system.benchmarks;
+
+import com.system.domain.Student;
+import com.system.repository.SQLiteStudentRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic test data and throw-away SQLite databases for the benchmarks.
+ */
+final class BenchmarkData {
+    private static final String[] FIRST_NAMES = {"Kwame", "Ama", "Kofi", "Akosua", "Yaw", "Abena", "Esi", "Kojo",
+            "John", "Mary", "Peter", "Grace", "Samuel", "Linda", "Michael", "Joyce"};
+    private static final String[] LAST_NAMES = {"Mensah", "Owusu", "Boateng", "Asante", "Osei", "Appiah", "Darko",
+            "Addo", "Smith", "Brown", "Ofori", "Tetteh", "Badu", "Sarpong", "Frimpong", "Quaye"};
+    private static final String[] PROGRAMMES = {"Computer Science", "Mathematics", "Physics", "Economics",
+            "Law", "Medicine", "Nursing", "Accounting"};
+
+    private BenchmarkData() {
+    }
+
+    static String studentId(int i) {
+        return String.format("STU%07d", i);
+    }
+
+    static Student student(int i) {
+        Random random = new Random(i);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        double gpa = Math.round(Math.min(4.0, Math.max(0.0, 2.8 + random.nextGaussian() * 0.6)) * 100) / 100.0;
+        return new Student(studentId(i), first + " " + last, PROGRAMMES[random.nextInt(PROGRAMMES.length)],
+                100 * (1 + random.nextInt(7)), gpa,
+                first.toLowerCase() + "." + last.toLowerCase() + i + "@example.edu",
+                String.format("0244%07d", i), gpa >= 2.0 ? "Active" : "Inactive",
+                LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(i));
+    }
+
+    static List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+
+    /**
+     * A database with students 0 .. count - 1 in a new temporary directory.
+     */
+    static TempDatabase createDatabase(int count) throws Exception {
+        Path directory = Files.createTempDirectory("sms-bench");
+        SQLiteStudentRepository repository =
+                new SQLiteStudentRepository("jdbc:sqlite:" + directory.resolve("students.db"));
+        repository.initializeDatabase();
+        int chunk = 50_000;
+        for (int from = 0; from < count; from += chunk) {
+            List<Student> batch = new ArrayList<>(chunk);
+            for (int i = from; i < Math.min(count, from + chunk); i++) {
+                batch.add(student(i));
+            }
+            repository.addStudents(batch);
+        }
+        return new TempDatabase(directory, repository);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    static final class TempDatabase implements AutoCloseable {
+        final Path directory;
+        final SQLiteStudentRepository repository;
+
+        TempDatabase(Path directory, SQLiteStudentRepository repository) {
+            this.directory = directory;
+            this.repository = repository;
+        }
+
+        @Override
+        public void close() throws IOException {
+            repository.close();
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.system.benchmarks;
+
+import com.system.domain.Student;
+import com.system.util.CSVUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSVUtil export and import of a whole data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private List<Student> students;
+    private String exportPath;
+    private String importPath;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws Exception {
+        directory = Files.createTempDirectory("sms-bench-csv");
+        students = BenchmarkData.students(size);
+        exportPath = directory.resolve("export.csv").toString();
+        importPath = directory.resolve("import.csv").toString();
+        CSVUtil.exportToCSV(students, importPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws Exception {
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void exportToCSV() throws Exception {
+        CSVUtil.exportToCSV(students, exportPath);
+    }
+
+    @Benchmark
+    public List<Student> importFromCSV() throws Exception {
+        return CSVUtil.importFromCSV(importPath);
+    }
+}
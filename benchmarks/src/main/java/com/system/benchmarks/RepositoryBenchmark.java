@@ -0,0 +1,90 @@
+package com.system.benchmarks;
+
+import com.system.domain.Student;
+import com.system.repository.SortColumn;
+import com.system.repository.SortDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD and search against SQLiteStudentRepository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private BenchmarkData.TempDatabase database;
+    // IDs at and above size are free for the insert benchmark
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws Exception {
+        database = BenchmarkData.createDatabase(size);
+        nextId = size;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws Exception {
+        database.close();
+    }
+
+    private String randomId() {
+        return BenchmarkData.studentId(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public Student findStudentById() throws Exception {
+        return database.repository.findStudentById(randomId());
+    }
+
+    // Insert and delete together keep the table at its original size
+    @Benchmark
+    public void addAndDeleteStudent() throws Exception {
+        Student student = BenchmarkData.student(nextId++);
+        database.repository.addStudent(student);
+        database.repository.deleteStudent(student.getStudentId());
+    }
+
+    @Benchmark
+    public void updateStudent() throws Exception {
+        Student student = BenchmarkData.student(ThreadLocalRandom.current().nextInt(size));
+        student.setGpa(ThreadLocalRandom.current().nextInt(401) / 100.0);
+        database.repository.updateStudent(student);
+    }
+
+    @Benchmark
+    public List<Student> searchStudentsSelective() throws Exception {
+        return database.repository.searchStudents(randomId());
+    }
+
+    @Benchmark
+    public List<Student> searchStudentsBroad() throws Exception {
+        return database.repository.searchStudents("Mensah");
+    }
+
+    @Benchmark
+    public List<Student> firstPageByGpa() throws Exception {
+        return database.repository.getStudentsPage(SortColumn.GPA, SortDirection.DESCENDING, null, 200);
+    }
+}
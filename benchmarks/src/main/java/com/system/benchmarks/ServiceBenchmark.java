@@ -0,0 +1,73 @@
+package com.system.benchmarks;
+
+import com.system.domain.DashboardStats;
+import com.system.domain.Student;
+import com.system.repository.CachingStudentRepository;
+import com.system.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentService analytics over the same repository stack the application uses
+ * (SQLite behind the caching decorator, in-memory indexes loaded).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private BenchmarkData.TempDatabase database;
+    private StudentService service;
+
+    @Setup(Level.Trial)
+    public void createService() throws Exception {
+        database = BenchmarkData.createDatabase(size);
+        service = new StudentService(new CachingStudentRepository(database.repository));
+        service.loadInMemoryIndexes();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public DashboardStats getDashboardStats() throws Exception {
+        return service.getDashboardStats();
+    }
+
+    @Benchmark
+    public List<Student> getTopPerformers() throws Exception {
+        return service.getTopPerformers(10);
+    }
+
+    @Benchmark
+    public List<Student> getTopPerformersInProgramme() throws Exception {
+        return service.getTopPerformers(10, "Physics", 300);
+    }
+
+    @Benchmark
+    public Map<String, List<Student>> generateAcademicReportData() throws Exception {
+        return service.generateAcademicReportData();
+    }
+}
@@ -0,0 +1,75 @@
+package com.system.benchmarks;
+
+import com.system.domain.Student;
+import com.system.service.StudentService;
+import com.system.service.StudentValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentService.validateStudent on a valid and on an invalid record, the allocation-free
+ * StudentValidator mask behind it, and a bulk check of 100,000 records.
+ * Validation does not touch the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private static final int BULK_SIZE = 100_000;
+
+    private StudentService service;
+    private Student valid;
+    private Student invalid;
+    private StudentValidator validator;
+    private List<Student> batch;
+
+    @Setup
+    public void createStudents() {
+        // Validation never calls the repository
+        service = new StudentService(null);
+        valid = BenchmarkData.student(42);
+        invalid = new Student("S-1", "R2D2", "", 150, 4.5, "nobody", "12ab", "Active", null);
+        validator = new StudentValidator();
+        batch = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            batch.add(i % 10 == 0 ? invalid : BenchmarkData.student(i));
+        }
+    }
+
+    @Benchmark
+    public List<String> validateValidStudent() {
+        return service.validateStudent(valid);
+    }
+
+    @Benchmark
+    public List<String> validateInvalidStudent() {
+        return service.validateStudent(invalid);
+    }
+
+    @Benchmark
+    public int validateInvalidStudentMask() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public int[] validateBulk() {
+        return validator.validateAll(batch);
+    }
+}
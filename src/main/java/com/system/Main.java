@@ -1,39 +1,150 @@
 package com.system;
 
+import com.system.metrics.MetricsRegistry;
+import com.system.metrics.jfr.FlightRecording;
+import com.system.repository.CachingStudentRepository;
+import com.system.repository.InstrumentedStudentRepository;
 import com.system.repository.SQLiteStudentRepository;
+import com.system.repository.StudentRepository;
+import com.system.service.AsyncStudentService;
 import com.system.service.StudentService;
 import com.system.ui.MainController;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+
 public class Main extends Application {
 
+    private SQLiteStudentRepository repository;
+    private StudentService service;
+    private AsyncStudentService asyncService;
+    private StartupStages startup;
+    private FlightRecording recording;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // 1. Setup the Backend (Repository and Service)
-        SQLiteStudentRepository repository = new SQLiteStudentRepository();
+        // --jfr: keep a continuous Flight Recorder recording of this session
+        String jfrSettings = FlightRecording.requestedSettings(getParameters().getRaw());
+        if (jfrSettings != null) {
+            try {
+                recording = FlightRecording.start(jfrSettings);
+                System.out.println("Flight recording started, will be written to " + recording.getDestination());
+            } catch (Exception e) {
+                System.err.println("Could not start the flight recording: " + e.getMessage());
+            }
+        }
+
+        // Only the window shell is built on the JavaFX thread; nothing here touches the database,
+        // so the first frame does not depend on how many students there are
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        startup = new StartupStages(metrics);
+        MainController[] mainController = new MainController[1];
+        startup.runNow("shell", () -> {
+            // 1. Setup the Backend (Repository and Service). Connections are opened on first use.
+            repository = new SQLiteStudentRepository();
+
+            // Every database call is timed ("repository.*"); the Diagnostics view shows the figures
+            StudentRepository instrumented = new InstrumentedStudentRepository(repository, metrics, "repository");
 
-        // Ensure the 'data' folder and 'students' table exist before loading UI
-        repository.initializeDatabase();
+            // Views re-read the same data on every navigation, so serve repeated reads from memory
+            CachingStudentRepository cachedRepository = new CachingStudentRepository(instrumented);
+            registerCacheGauges(metrics, cachedRepository);
+            service = new StudentService(cachedRepository, metrics);
 
-        StudentService service = new StudentService(repository);
+            // Views call the service through this facade so queries run off the JavaFX thread
+            asyncService = new AsyncStudentService(service, Platform::runLater);
 
-        // 2. Load the Main Layout (The one with the Sidebar and BorderPane)
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/system/ui/MainLayout.fxml"));
-        Parent root = loader.load();
+            // 2. Load the Main Layout (The one with the Sidebar and BorderPane)
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/system/ui/MainLayout.fxml"));
+            Parent root = loader.load();
+
+            // 3. Setup the Main Controller
+            // This controller will handle swapping between Dashboard and Student views
+            mainController[0] = loader.getController();
+            mainController[0].setStudentService(asyncService);
+
+            // 4. Configure and Show the Primary Stage
+            Scene scene = new Scene(root);
+            CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+            Runnable[] firstPulse = new Runnable[1];
+            firstPulse[0] = () -> {
+                firstFrame.complete(null);
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(firstPulse[0]));
+            };
+            scene.addPostLayoutPulseListener(firstPulse[0]);
+            startup.markWhen("first-frame", firstFrame);
+            primaryStage.setTitle("Student Management System Plus");
+            primaryStage.setScene(scene);
+            primaryStage.show();
+        });
+        runBackgroundStages(mainController[0]);
+    }
 
-        // 3. Setup the Main Controller
-        // This controller will handle swapping between Dashboard and Student views
-        MainController mainController = loader.getController();
-        mainController.setStudentService(service);
+    /**
+     * Everything else runs after the window is up, on background threads, in parallel where possible:
+     * schema migration first (the views need it), then connection warm-up, the GPA summaries and
+     * the in-memory indexes side by side. If the schema stage fails, none of those run and the views
+     * stay disabled. The FXML preload does not need the database and starts at once.
+     */
+    private void runBackgroundStages(MainController mainController) {
+        // Ensure the 'data' folder and 'students' table exist before any view queries them
+        CompletableFuture<Void> schema = startup.runInBackground("schema", repository::initializeDatabase);
+        schema.whenComplete((ignored, error) -> Platform.runLater(error == null
+                ? mainController::databaseReady
+                : () -> mainController.showStartupMessage("The database could not be opened: "
+                        + (error.getCause() != null ? error.getCause() : error).getMessage())));
 
-        // 4. Configure and Show the Primary Stage
-        primaryStage.setTitle("Student Management System Plus");
-        primaryStage.setScene(new Scene(root));
-        primaryStage.show();
+        // Parse the remaining views so the first visit to each is instant
+        // (-Dsms.preloadViews=false parses each view on its first visit instead)
+        if (Boolean.parseBoolean(System.getProperty("sms.preloadViews", "true"))) {
+            startup.await("views", mainController.preloadViews());
+        }
+
+        startup.runInBackground("connections", repository::warmUp, schema);
+        // Saved threshold and GPA histogram, for the dashboard and the settings preview
+        startup.runInBackground("summaries", () -> service.countActive(service.getActiveThreshold()), schema);
+        // Type-ahead index and column snapshot; the database answers until they are ready
+        startup.runInBackground("indexes", service::loadInMemoryIndexes, schema);
+        // The stage timings are always kept as "startup.*" timers; -Dsms.logStartup=true also prints them
+        if (Boolean.getBoolean("sms.logStartup")) {
+            startup.logWhenDone();
+        }
+    }
+
+    private static void registerCacheGauges(MetricsRegistry metrics, CachingStudentRepository cache) {
+        metrics.gauge("cache.hitRate", () -> cache.getStats().getHitRate());
+        metrics.gauge("cache.hits", () -> cache.getStats().getHits());
+        metrics.gauge("cache.misses", () -> cache.getStats().getMisses());
+        metrics.gauge("cache.evictions", () -> cache.getStats().getEvictions());
+        metrics.gauge("cache.size", () -> cache.getStats().getSize());
+        metrics.gauge("cache.snapshotHits", () -> cache.getStats().getSnapshotHits());
+        metrics.gauge("cache.snapshotMisses", () -> cache.getStats().getSnapshotMisses());
+        metrics.gauge("jvm.heapUsedMb", () -> {
+            Runtime runtime = Runtime.getRuntime();
+            return (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0);
+        });
+    }
+
+    @Override
+    public void stop() {
+        if (startup != null) {
+            startup.shutdown();
+        }
+        if (asyncService != null) {
+            asyncService.close();
+        }
+        // Release the pooled SQLite connections (also checkpoints the WAL file)
+        if (repository != null) {
+            repository.close();
+        }
+        if (recording != null) {
+            recording.close();
+        }
     }
 
     public static void main(String[] args) {
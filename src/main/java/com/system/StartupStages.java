@@ -0,0 +1,161 @@
+package com.system;
+
+import com.system.metrics.MetricsRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the application's startup work as named stages and keeps a timing breakdown.
+ *
+ * Background stages run on virtual threads and start as soon as the stages they depend on are
+ * done, so independent work overlaps. Each stage is also recorded as the "startup.<stage>" timer
+ * (shown in the Diagnostics view), and logWhenDone can print the whole breakdown.
+ */
+class StartupStages {
+
+    @FunctionalInterface
+    interface Stage {
+        void run() throws Exception;
+    }
+
+    // All offsets are measured from here (the start of Application.start)
+    private final long origin = System.nanoTime();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MetricsRegistry metrics;
+    private final List<Timing> timings = new ArrayList<>();
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+    StartupStages(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs a stage on the calling thread (used for the JavaFX-thread stages before the window shows).
+     */
+    void runNow(String name, Stage stage) throws Exception {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            stage.run();
+            succeeded = true;
+        } finally {
+            record(name, start, succeeded, Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Runs a stage on a background thread once all of the given stages have succeeded.
+     * If one of them fails, this stage is skipped and its future fails with the same error.
+     */
+    CompletableFuture<Void> runInBackground(String name, Stage stage, CompletableFuture<?>... after) {
+        CompletableFuture<Void> result = CompletableFuture.allOf(after)
+                .thenRunAsync(() -> {
+                    long start = System.nanoTime();
+                    boolean succeeded = false;
+                    try {
+                        stage.run();
+                        succeeded = true;
+                    } catch (Exception e) {
+                        System.err.println("Startup stage '" + name + "' failed: " + e.getMessage());
+                        throw new CompletionException(e);
+                    } finally {
+                        record(name, start, succeeded, "background");
+                    }
+                }, executor);
+        track(result);
+        return result;
+    }
+
+    /**
+     * Times work that completes asynchronously on its own (e.g. the view preload), from now until
+     * the future completes.
+     */
+    <T> CompletableFuture<T> await(String name, CompletableFuture<T> work) {
+        long start = System.nanoTime();
+        CompletableFuture<T> result = work.whenComplete((value, error) -> record(name, start, error == null, "async"));
+        track(result);
+        return result;
+    }
+
+    // Records the moment an event happens (such as the first rendered frame) as a zero-length stage
+    void markWhen(String name, CompletableFuture<?> event) {
+        track(event.whenComplete((value, error) -> record(name, System.nanoTime(), error == null, "")));
+    }
+
+    /**
+     * Prints the breakdown once every stage started so far has finished (or was skipped).
+     */
+    void logWhenDone() {
+        CompletableFuture<?>[] stages;
+        synchronized (pending) {
+            stages = pending.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(stages).handle((ignored, error) -> {
+            System.out.println(describe());
+            return null;
+        });
+    }
+
+    // Stops background stages that are still running, e.g. when the window is closed during startup
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    String describe() {
+        List<Timing> sorted;
+        synchronized (timings) {
+            sorted = new ArrayList<>(timings);
+        }
+        sorted.sort(Comparator.comparingLong((Timing t) -> t.start));
+
+        StringBuilder text = new StringBuilder("Startup timings (ms from Application.start, ");
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime() - millis(System.nanoTime() - origin);
+        text.append("which began ").append(jvmUptime).append(" ms after JVM launch):");
+        for (Timing timing : sorted) {
+            text.append(String.format("%n  %-16s at %6d  took %6d  %s%s", timing.name, millis(timing.start - origin),
+                    millis(timing.end - timing.start), timing.thread, timing.succeeded ? "" : "  FAILED"));
+        }
+        return text.toString();
+    }
+
+    private void record(String name, long start, boolean succeeded, String thread) {
+        long end = System.nanoTime();
+        synchronized (timings) {
+            timings.add(new Timing(name, start, end, thread, succeeded));
+        }
+        metrics.timer("startup." + name).record(end - start);
+    }
+
+    private void track(CompletableFuture<?> stage) {
+        synchronized (pending) {
+            pending.add(stage);
+        }
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static final class Timing {
+        final String name;
+        final long start;
+        final long end;
+        final String thread;
+        final boolean succeeded;
+
+        Timing(String name, long start, long end, String thread, boolean succeeded) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+            this.thread = thread;
+            this.succeeded = succeeded;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.system.domain;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Result of comparing the incrementally maintained aggregates with a full recount.
+ */
+public class ConsistencyReport {
+    // The GPA sum is a floating point running total, so allow for rounding noise
+    private static final double GPA_SUM_TOLERANCE = 1e-6;
+
+    private final StudentAggregates stored;
+    private final StudentAggregates recomputed;
+
+    public ConsistencyReport(StudentAggregates stored, StudentAggregates recomputed) {
+        this.stored = stored;
+        this.recomputed = recomputed;
+    }
+
+    public StudentAggregates getStored() { return stored; }
+    public StudentAggregates getRecomputed() { return recomputed; }
+
+    public long getTotalDrift() {
+        return stored.getTotalStudents() - recomputed.getTotalStudents();
+    }
+
+    public double getGpaSumDrift() {
+        return stored.getGpaSum() - recomputed.getGpaSum();
+    }
+
+    public boolean isConsistent() {
+        return getTotalDrift() == 0
+                && Math.abs(getGpaSumDrift()) <= GPA_SUM_TOLERANCE * Math.max(1, recomputed.getTotalStudents())
+                && stored.getStatusCounts().equals(recomputed.getStatusCounts());
+    }
+
+    public String describe() {
+        if (isConsistent()) {
+            return "Dashboard totals are consistent (" + recomputed.getTotalStudents() + " students).";
+        }
+        StringBuilder text = new StringBuilder("Dashboard totals have drifted from the table:\n");
+        text.append(String.format("Total students: stored %d, actual %d%n",
+                stored.getTotalStudents(), recomputed.getTotalStudents()));
+        text.append(String.format("GPA sum: stored %.4f, actual %.4f%n", stored.getGpaSum(), recomputed.getGpaSum()));
+        Set<String> statuses = new HashSet<>(stored.getStatusCounts().keySet());
+        statuses.addAll(recomputed.getStatusCounts().keySet());
+        for (String status : statuses) {
+            long before = stored.countWithStatus(status);
+            long actual = recomputed.countWithStatus(status);
+            if (before != actual) {
+                text.append(String.format("Status '%s': stored %d, actual %d%n", status, before, actual));
+            }
+        }
+        return text.toString();
+    }
+}
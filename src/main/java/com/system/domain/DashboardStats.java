@@ -4,14 +4,17 @@ public class DashboardStats {
     private final int totalStudents;
     private final double averageGpa;
     private final int activeStudents;
+    private final int inactiveStudents;
 
-    public DashboardStats(int totalStudents, double averageGpa, int activeStudents) {
+    public DashboardStats(int totalStudents, double averageGpa, int activeStudents, int inactiveStudents) {
         this.totalStudents = totalStudents;
         this.averageGpa = averageGpa;
         this.activeStudents = activeStudents;
+        this.inactiveStudents = inactiveStudents;
     }
 
     public int getTotalStudents() { return totalStudents; }
     public double getAverageGpa() { return averageGpa; }
     public int getActiveStudents() { return activeStudents; }
+    public int getInactiveStudents() { return inactiveStudents; }
 }
\ No newline at end of file
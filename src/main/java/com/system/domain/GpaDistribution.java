@@ -0,0 +1,43 @@
+package com.system.domain;
+
+/**
+ * GPA statistics for the students of one programme at one level.
+ * Percentiles use the nearest-rank method on GPA rounded down to two decimals.
+ */
+public class GpaDistribution {
+    private final String programme;
+    private final int level;
+    private final long count;
+    private final double mean;
+    private final double min;
+    private final double max;
+    private final double standardDeviation;
+    private final double p10;
+    private final double median;
+    private final double p90;
+
+    public GpaDistribution(String programme, int level, long count, double mean, double min, double max,
+                           double standardDeviation, double p10, double median, double p90) {
+        this.programme = programme;
+        this.level = level;
+        this.count = count;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.standardDeviation = standardDeviation;
+        this.p10 = p10;
+        this.median = median;
+        this.p90 = p90;
+    }
+
+    public String getProgramme() { return programme; }
+    public int getLevel() { return level; }
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+    public double getStandardDeviation() { return standardDeviation; }
+    public double getP10() { return p10; }
+    public double getMedian() { return median; }
+    public double getP90() { return p90; }
+}
@@ -0,0 +1,46 @@
+package com.system.domain;
+
+/**
+ * Point-in-time view of a running (or finished) CSV import.
+ */
+public class ImportProgress {
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long rowsRead;
+    private final long rowsWritten;
+    private final long rowsRejected;
+    private final long elapsedNanos;
+    private final boolean finished;
+    private final boolean cancelled;
+
+    public ImportProgress(long bytesRead, long totalBytes, long rowsRead, long rowsWritten,
+                          long rowsRejected, long elapsedNanos, boolean finished, boolean cancelled) {
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.rowsRead = rowsRead;
+        this.rowsWritten = rowsWritten;
+        this.rowsRejected = rowsRejected;
+        this.elapsedNanos = elapsedNanos;
+        this.finished = finished;
+        this.cancelled = cancelled;
+    }
+
+    public long getBytesRead() { return bytesRead; }
+    public long getTotalBytes() { return totalBytes; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsWritten() { return rowsWritten; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public boolean isFinished() { return finished; }
+    public boolean isCancelled() { return cancelled; }
+
+    // Fraction of the file consumed so far, 0.0 - 1.0
+    public double getFraction() {
+        return totalBytes <= 0 ? 0.0 : Math.min(1.0, (double) bytesRead / totalBytes);
+    }
+
+    // Rows written to the database per second since the import started
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0.0 : rowsWritten * 1_000_000_000.0 / elapsedNanos;
+    }
+}
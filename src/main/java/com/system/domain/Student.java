@@ -9,6 +9,9 @@ import java.time.LocalDateTime;
  * Satisfies requirements for Student Fields.
  */
 public class Student {
+    public static final String ACTIVE = "Active";
+    public static final String INACTIVE = "Inactive";
+
     private String studentId;
     private String fullName;
     private String programme;
@@ -84,21 +87,19 @@ public class Student {
                 LocalDateTime.parse(rs.getString("date_added"))
         );
     }
-    // Inside Student.java
+    // The stored status, derived from the GPA threshold when the student was saved or the threshold changed
     public String getStatus() {
-        // Access the threshold we saved in SettingsController
-        double threshold = com.system.ui.SettingsController.activeThreshold;
-
-        if (this.gpa >= threshold) {
-            return "Active";
-        } else {
-            return "Inactive"; // Or "At Risk"
-        }
+        return status;
     }
     public void setStatus(String status) {
         this.status = status;
     }
 
+    // The status a student with this GPA gets under the given threshold (same rule as the database update)
+    public static String statusFor(double gpa, double activeThreshold) {
+        return gpa >= activeThreshold ? ACTIVE : INACTIVE;
+    }
+
 
 
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.system.domain;
+
+import java.util.Map;
+
+/**
+ * Running totals over the whole students table: row count, GPA sum and rows per stored status.
+ */
+public class StudentAggregates {
+    private final long totalStudents;
+    private final double gpaSum;
+    private final Map<String, Long> statusCounts;
+
+    public StudentAggregates(long totalStudents, double gpaSum, Map<String, Long> statusCounts) {
+        this.totalStudents = totalStudents;
+        this.gpaSum = gpaSum;
+        this.statusCounts = Map.copyOf(statusCounts);
+    }
+
+    public long getTotalStudents() { return totalStudents; }
+    public double getGpaSum() { return gpaSum; }
+    public Map<String, Long> getStatusCounts() { return statusCounts; }
+
+    public double getAverageGpa() {
+        return totalStudents == 0 ? 0.0 : gpaSum / totalStudents;
+    }
+
+    public long countWithStatus(String status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    @Override
+    public String toString() {
+        return "total=" + totalStudents + ", gpaSum=" + gpaSum + ", statusCounts=" + statusCounts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.system.domain;
+
+/**
+ * One committed write, as published to views by the service.
+ * before is the row as it was (null for an insert), after the row as written (null for a delete).
+ * RELOAD means many rows changed at once (e.g. a new GPA threshold): there is no per-row delta
+ * and views that care must read their data again.
+ *
+ * The Student objects may be shared with caches and other views and must be treated as read-only.
+ */
+public class StudentChange {
+    public enum Type { INSERTED, UPDATED, DELETED, RELOAD }
+
+    private static final StudentChange RELOAD = new StudentChange(Type.RELOAD, null, null, null);
+
+    private final Type type;
+    private final String studentId;
+    private final Student before;
+    private final Student after;
+
+    private StudentChange(Type type, String studentId, Student before, Student after) {
+        this.type = type;
+        this.studentId = studentId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static StudentChange inserted(Student after) {
+        return new StudentChange(Type.INSERTED, after.getStudentId(), null, after);
+    }
+
+    public static StudentChange updated(Student before, Student after) {
+        return new StudentChange(Type.UPDATED, after.getStudentId(), before, after);
+    }
+
+    public static StudentChange deleted(Student before) {
+        return new StudentChange(Type.DELETED, before.getStudentId(), before, null);
+    }
+
+    public static StudentChange reload() {
+        return RELOAD;
+    }
+
+    public Type getType() { return type; }
+    public String getStudentId() { return studentId; }
+    public Student getBefore() { return before; }
+    public Student getAfter() { return after; }
+
+    @Override
+    public String toString() {
+        return type == Type.RELOAD ? "RELOAD" : type + " " + studentId;
+    }
+}
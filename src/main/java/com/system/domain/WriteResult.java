@@ -0,0 +1,33 @@
+package com.system.domain;
+
+/**
+ * Outcome of writing one row as part of a batch operation.
+ */
+public class WriteResult {
+    private final String studentId;
+    private final boolean success;
+    private final String message;
+
+    private WriteResult(String studentId, boolean success, String message) {
+        this.studentId = studentId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static WriteResult ok(String studentId) {
+        return new WriteResult(studentId, true, null);
+    }
+
+    public static WriteResult failed(String studentId, String message) {
+        return new WriteResult(studentId, false, message);
+    }
+
+    public String getStudentId() { return studentId; }
+    public boolean isSuccess() { return success; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return success ? studentId + ": OK" : studentId + ": " + message;
+    }
+}
@@ -0,0 +1,109 @@
+package com.system.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram.
+ *
+ * Durations are counted in log-linear buckets: every power of two of nanoseconds is split into
+ * 8 equal sub-buckets, so a percentile is never off by more than 12.5% whatever the magnitude,
+ * and recording is a couple of bit operations plus one atomic increment.
+ */
+public class LatencyTimer {
+    // Durations below this many nanoseconds get a bucket each
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS;
+
+    /** Work that is timed and may fail. */
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    // Records the time since a System.nanoTime() reading
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Runs the work and records how long it took. Failed calls are timed too and also counted as failures.
+     */
+    public <T> T time(Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } catch (Exception | Error e) {
+            failures.increment();
+            throw e;
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public void time(Action work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (Exception | Error e) {
+            failures.increment();
+            throw e;
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public TimerSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new TimerSnapshot(count.sum(), failures.sum(), totalNanos.sum(), maxNanos.get(), counts);
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < LINEAR_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos); // 4 or more
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    // Largest duration that falls into the bucket
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = 4 + (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
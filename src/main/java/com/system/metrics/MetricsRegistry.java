@@ -0,0 +1,60 @@
+package com.system.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named counters, latency timers and gauges for the whole application.
+ *
+ * Metrics are created on first use and live as long as the registry. Lookups are a
+ * ConcurrentHashMap read, so hot paths may look a metric up by name on every call.
+ * Names are dotted, grouped by layer: "repository.", "service.", "csv.", "ui.".
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    // The registry the application reports to
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public LatencyTimer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyTimer());
+    }
+
+    /**
+     * Registers a value that is read whenever a snapshot is taken. Replaces an earlier gauge of the same name.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, TimerSnapshot> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, timer.snapshot()));
+        Map<String, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                gaugeValues.put(name, gauge.getAsDouble());
+            } catch (RuntimeException e) {
+                // A broken gauge must not break the snapshot
+                gaugeValues.put(name, Double.NaN);
+            }
+        });
+        return new MetricsSnapshot(startedAt, System.currentTimeMillis(), System.nanoTime(),
+                counterValues, timerValues, gaugeValues);
+    }
+}
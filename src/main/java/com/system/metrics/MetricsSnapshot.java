@@ -0,0 +1,98 @@
+package com.system.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Every metric of a {@link MetricsRegistry} at one moment, sorted by name.
+ */
+public class MetricsSnapshot {
+    private final long startedAt;
+    private final long takenAt;
+    private final long takenAtNanos;
+    private final Map<String, Long> counters;
+    private final Map<String, TimerSnapshot> timers;
+    private final Map<String, Double> gauges;
+
+    MetricsSnapshot(long startedAt, long takenAt, long takenAtNanos, Map<String, Long> counters,
+                    Map<String, TimerSnapshot> timers, Map<String, Double> gauges) {
+        this.startedAt = startedAt;
+        this.takenAt = takenAt;
+        this.takenAtNanos = takenAtNanos;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.timers = Collections.unmodifiableMap(timers);
+        this.gauges = Collections.unmodifiableMap(gauges);
+    }
+
+    // Wall-clock time, epoch milliseconds
+    public long getTakenAt() { return takenAt; }
+    // Start of the period the timers and counters cover (registry creation, or the earlier snapshot)
+    public long getStartedAt() { return startedAt; }
+    // System.nanoTime() reading, for measuring the interval between two snapshots
+    public long getTakenAtNanos() { return takenAtNanos; }
+    public Map<String, Long> getCounters() { return counters; }
+    public Map<String, TimerSnapshot> getTimers() { return timers; }
+    public Map<String, Double> getGauges() { return gauges; }
+
+    public double getIntervalSeconds() {
+        return Math.max(0.001, (takenAt - startedAt) / 1000.0);
+    }
+
+    /**
+     * Timers and counters restricted to what happened after the earlier snapshot; gauges are kept as they are now.
+     */
+    public MetricsSnapshot since(MetricsSnapshot earlier) {
+        if (earlier == null) {
+            return this;
+        }
+        Map<String, Long> counterDeltas = new TreeMap<>();
+        counters.forEach((name, value) -> counterDeltas.put(name, value - earlier.counters.getOrDefault(name, 0L)));
+        Map<String, TimerSnapshot> timerDeltas = new TreeMap<>();
+        timers.forEach((name, timer) -> timerDeltas.put(name, timer.since(earlier.timers.get(name))));
+        return new MetricsSnapshot(earlier.takenAt, takenAt, takenAtNanos, counterDeltas, timerDeltas, gauges);
+    }
+
+    /**
+     * Writes the snapshot as a plain-text report.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeTo(writer);
+        }
+    }
+
+    private void writeTo(Writer out) {
+        PrintWriter writer = new PrintWriter(out);
+        writer.printf("Metrics snapshot taken %s (covering %s onwards)%n%n", Instant.ofEpochMilli(takenAt), Instant.ofEpochMilli(startedAt));
+        writer.printf("%-40s %10s %8s %10s %10s %10s %10s %10s%n",
+                "TIMER", "COUNT", "FAILED", "MEAN ms", "P50 ms", "P90 ms", "P99 ms", "MAX ms");
+        timers.forEach((name, t) -> writer.printf("%-40s %10d %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                name, t.getCount(), t.getFailures(), t.getMeanMillis(), t.getP50Millis(), t.getP90Millis(),
+                t.getP99Millis(), t.getMaxMillis()));
+        writer.printf("%n%-40s %10s%n", "COUNTER", "VALUE");
+        counters.forEach((name, value) -> writer.printf("%-40s %10d%n", name, value));
+        writer.printf("%n%-40s %10s%n", "GAUGE", "VALUE");
+        gauges.forEach((name, value) -> writer.printf("%-40s %10.3f%n", name, value));
+        writer.flush();
+    }
+
+    @Override
+    public String toString() {
+        StringWriter text = new StringWriter();
+        writeTo(text);
+        return text.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.system.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time copy of a {@link LatencyTimer}. Two snapshots of the same timer can be
+ * subtracted to get the latencies of just the calls in between.
+ */
+public class TimerSnapshot {
+    private final long count;
+    private final long failures;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    TimerSnapshot(long count, long failures, long totalNanos, long maxNanos, long[] buckets) {
+        this.count = count;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+    public long getCount() { return count; }
+    public long getFailures() { return failures; }
+    public long getTotalNanos() { return totalNanos; }
+
+    public double getMeanMillis() {
+        return count == 0 ? 0 : toMillis(totalNanos / (double) count);
+    }
+
+    // Highest duration ever recorded (also for interval snapshots, which cannot know their own maximum)
+    public double getMaxMillis() {
+        return toMillis(maxNanos);
+    }
+
+    public double getP50Millis() { return percentileMillis(0.50); }
+    public double getP90Millis() { return percentileMillis(0.90); }
+    public double getP99Millis() { return percentileMillis(0.99); }
+
+    /**
+     * Nearest-rank percentile (fraction 0.0 - 1.0), reported as the upper bound of its bucket.
+     */
+    public double percentileMillis(double fraction) {
+        long recorded = 0;
+        for (long bucket : buckets) {
+            recorded += bucket;
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return toMillis(Math.min(LatencyTimer.upperBoundOf(bucket), maxNanos));
+            }
+        }
+        return toMillis(maxNanos);
+    }
+
+    /**
+     * The calls recorded after the earlier snapshot was taken.
+     */
+    public TimerSnapshot since(TimerSnapshot earlier) {
+        if (earlier == null) {
+            return this;
+        }
+        long[] delta = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            delta[i] = buckets[i] - earlier.buckets[i];
+        }
+        return new TimerSnapshot(count - earlier.count, failures - earlier.failures,
+                totalNanos - earlier.totalNanos, maxNanos, delta);
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d failures=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                count, failures, getMeanMillis(), getP50Millis(), getP90Millis(), getP99Millis(), getMaxMillis());
+    }
+}
@@ -0,0 +1,47 @@
+package com.system.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A StudentService operation that summarises many students (dashboard totals, reports,
+ * distributions, top performers, index loading). Only successful calls are committed, and the
+ * fields are only filled in by finish when the recording wants the event.
+ */
+@Name("com.system.Aggregation")
+@Label("Service Aggregation")
+@Category({"Student Management", "Service"})
+@StackTrace(false)
+public class AggregationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Groups")
+    public long groups;
+
+    public static AggregationEvent start() {
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String operation, String source, long rows, long groups) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.source = source;
+            this.rows = rows;
+            this.groups = groups;
+            commit();
+        }
+    }
+}
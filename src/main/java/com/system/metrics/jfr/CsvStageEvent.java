@@ -0,0 +1,34 @@
+package com.system.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of a CSV import or export. Import workers emit one event per batch they
+ * parse or write, plus one for the whole run; an export is a single event.
+ */
+@Name("com.system.CsvStage")
+@Label("CSV Stage")
+@Category({"Student Management", "CSV"})
+@StackTrace(false)
+public class CsvStageEvent extends Event {
+    @Label("Stage")
+    public String stage;
+
+    @Label("File")
+    public String file;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Rejected Rows")
+    public long rejected;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,113 @@
+package com.system.metrics.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Continuous Flight Recorder recording, started with the --jfr option (or -Dsms.jfr=true).
+ *
+ * Keeps the last 30 minutes (at most 250 MB) in a ring buffer on disk, using the JDK's low-overhead
+ * "default" settings plus every com.system event. It is written to data/recordings when the
+ * application exits, and can be dumped at any time from the Diagnostics view, so a slow session
+ * can be analysed after the fact in JDK Mission Control. Use --jfr=profile for the more detailed
+ * (and more expensive) "profile" settings.
+ */
+public class FlightRecording implements AutoCloseable {
+    public static final String OPTION = "--jfr";
+    public static final String PROPERTY = "sms.jfr";
+    public static final Path DIRECTORY = Path.of("data", "recordings");
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final long MAX_SIZE_BYTES = 250L * 1024 * 1024;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static volatile FlightRecording active;
+
+    private final Recording recording;
+
+    private FlightRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * The JFR settings asked for on the command line, or null when no recording was requested.
+     */
+    public static String requestedSettings(List<String> args) {
+        for (String arg : args) {
+            if (arg.equals(OPTION)) {
+                return "default";
+            }
+            if (arg.startsWith(OPTION + "=")) {
+                return arg.substring(OPTION.length() + 1);
+            }
+        }
+        return Boolean.getBoolean(PROPERTY) ? "default" : null;
+    }
+
+    public static FlightRecording start(String settings) throws IOException, ParseException {
+        Files.createDirectories(DIRECTORY);
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("Student Management System");
+        recording.setToDisk(true);
+        recording.setMaxAge(MAX_AGE);
+        recording.setMaxSize(MAX_SIZE_BYTES);
+        recording.setDestination(newFile("session"));
+        recording.setDumpOnExit(true);
+        // Application events are cheap and rare compared to JDK events, so record all of them
+        for (Class<? extends Event> event : List.of(RepositoryCallEvent.class, ViewLoadEvent.class,
+                CsvStageEvent.class, AggregationEvent.class)) {
+            recording.enable(event).withoutThreshold();
+        }
+        recording.start();
+        FlightRecording started = new FlightRecording(recording);
+        active = started;
+        return started;
+    }
+
+    // The running recording, or null when the application was started without --jfr
+    public static FlightRecording getActive() {
+        return active;
+    }
+
+    /**
+     * Copies what has been recorded so far (up to the last 30 minutes) into a new file and keeps recording.
+     */
+    public Path dump() throws IOException {
+        Path file = newFile("dump");
+        recording.dump(file);
+        return file;
+    }
+
+    public Path getDestination() {
+        return recording.getDestination();
+    }
+
+    /**
+     * Stops the recording, which writes it to its destination file.
+     */
+    @Override
+    public void close() {
+        if (active == this) {
+            active = null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+
+    private static Path newFile(String kind) {
+        return DIRECTORY.resolve("sms-" + kind + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+    }
+}
@@ -0,0 +1,44 @@
+package com.system.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+
+/**
+ * One call into SQLiteStudentRepository: the operation, its main SQL statement and the rows it returned or changed.
+ */
+@Name("com.system.RepositoryCall")
+@Label("Repository Call")
+@Category({"Student Management", "Repository"})
+@Description("A StudentRepository method executed against SQLite")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    @Description("Rows returned by a query or affected by a write")
+    public long rows;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    // Row count for the usual result types of a repository call
+    public static long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return result == null ? 0 : 1;
+    }
+}
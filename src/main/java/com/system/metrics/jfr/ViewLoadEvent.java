@@ -0,0 +1,29 @@
+package com.system.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * MainController.loadView: putting a view on screen, including parsing the FXML and creating
+ * the controller when it is not cached yet. The event duration is the navigation time.
+ */
+@Name("com.system.ViewLoad")
+@Label("View Load")
+@Category({"Student Management", "UI"})
+@StackTrace(false)
+public class ViewLoadEvent extends Event {
+    @Label("FXML Path")
+    public String fxmlPath;
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,41 @@
+package com.system.repository;
+
+/**
+ * Counters reported by {@link CachingStudentRepository}.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long snapshotHits;
+    private final long snapshotMisses;
+    private final int size;
+
+    public CacheStats(long hits, long misses, long evictions, long snapshotHits, long snapshotMisses, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.snapshotHits = snapshotHits;
+        this.snapshotMisses = snapshotMisses;
+        this.size = size;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getSnapshotHits() { return snapshotHits; }
+    public long getSnapshotMisses() { return snapshotMisses; }
+    public int getSize() { return size; }
+
+    // Share of by-ID lookups served from memory, 0.0 - 1.0
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("by-id: %d hits / %d misses (%.1f%%), %d evictions, %d cached; snapshot: %d hits / %d misses",
+                hits, misses, getHitRate() * 100, evictions, size, snapshotHits, snapshotMisses);
+    }
+}
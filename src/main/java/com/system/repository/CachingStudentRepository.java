@@ -0,0 +1,373 @@
+package com.system.repository;
+
+import com.system.domain.ConsistencyReport;
+import com.system.domain.Student;
+import com.system.domain.StudentAggregates;
+import com.system.domain.WriteResult;
+import com.system.util.TopK;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-through cache in front of any StudentRepository.
+ *
+ * Keeps a bounded by-ID cache (least recently used entries are evicted first) and one cached
+ * snapshot of getAllStudents. Both expire after a time-to-live, which only matters when another
+ * process writes to the same database. Writes always go to the wrapped repository first and then
+ * drop exactly the affected entries: the changed IDs and the snapshot.
+ *
+ * Cached Student objects are shared between callers and must be treated as read-only.
+ */
+public class CachingStudentRepository implements StudentRepository {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    private final StudentRepository delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<String, CachedStudent> byId;
+    private volatile Snapshot snapshot;
+    // Bumped by every write; a load that raced with a write must not be cached. Changed, and
+    // checked before anything is cached, only while holding the byId lock, so a load cannot be
+    // published between a write's invalidation and the next read.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder snapshotMisses = new LongAdder();
+
+    public CachingStudentRepository(StudentRepository delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    public CachingStudentRepository(StudentRepository delegate, int maxEntries, Duration ttl) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.byId = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStudent> eldest) {
+                if (size() > CachingStudentRepository.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ---- Reads ----
+
+    @Override
+    public List<Student> getAllStudents() throws Exception {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current.loadedAt)) {
+            snapshotHits.increment();
+            return current.students;
+        }
+        snapshotMisses.increment();
+
+        long loadGeneration = generation.get();
+        List<Student> students = Collections.unmodifiableList(delegate.getAllStudents());
+        synchronized (byId) {
+            if (generation.get() == loadGeneration) {
+                snapshot = new Snapshot(students, System.nanoTime());
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public Student findStudentById(String studentId) throws Exception {
+        synchronized (byId) {
+            CachedStudent cached = byId.get(studentId);
+            if (cached != null) {
+                if (!isExpired(cached.loadedAt)) {
+                    hits.increment();
+                    return cached.student;
+                }
+                byId.remove(studentId);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Student student = delegate.findStudentById(studentId);
+        if (student != null) {
+            synchronized (byId) {
+                if (generation.get() == loadGeneration) {
+                    byId.put(studentId, new CachedStudent(student, System.nanoTime()));
+                }
+            }
+        }
+        return student;
+    }
+
+    @Override
+    public List<Student> findStudentsByIds(List<String> studentIds) throws Exception {
+        Map<String, Student> found = new HashMap<>(studentIds.size() * 2);
+        List<String> missing = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (byId) {
+            for (String studentId : studentIds) {
+                CachedStudent cached = byId.get(studentId);
+                if (cached != null && now - cached.loadedAt <= ttlNanos) {
+                    found.put(studentId, cached.student);
+                } else {
+                    missing.add(studentId);
+                }
+            }
+        }
+        hits.add(found.size());
+        misses.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            // Misses go to the wrapped repository in one call and are cached like single lookups
+            long loadGeneration = generation.get();
+            List<Student> loaded = delegate.findStudentsByIds(missing);
+            synchronized (byId) {
+                boolean current = generation.get() == loadGeneration;
+                for (Student student : loaded) {
+                    found.put(student.getStudentId(), student);
+                    if (current) {
+                        byId.put(student.getStudentId(), new CachedStudent(student, now));
+                    }
+                }
+            }
+        }
+
+        List<Student> students = new ArrayList<>(found.size());
+        for (String studentId : studentIds) {
+            Student student = found.get(studentId);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public void forEachStudent(boolean reuseRow, StudentVisitor visitor) throws Exception {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current.loadedAt)) {
+            snapshotHits.increment();
+            for (Student student : current.students) {
+                visitor.visit(student);
+            }
+            return;
+        }
+        // Not worth filling the snapshot here: streaming callers want to avoid holding the whole table
+        delegate.forEachStudent(reuseRow, visitor);
+    }
+
+    @Override
+    public List<Student> searchStudents(String query) throws Exception {
+        return delegate.searchStudents(query);
+    }
+
+    @Override
+    public List<Student> getStudentsPage(SortColumn sortColumn, SortDirection direction,
+                                         PageKey afterKey, int limit) throws Exception {
+        return delegate.getStudentsPage(sortColumn, direction, afterKey, limit);
+    }
+
+    @Override
+    public List<Student> getTopStudentsByGpa(int limit, String programme, Integer level) throws Exception {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current.loadedAt)) {
+            snapshotHits.increment();
+            // Bounded heap over the cached rows: O(n log k), no sort of the whole snapshot
+            Iterable<Student> candidates = () -> current.students.stream()
+                    .filter(s -> programme == null || programme.equals(s.getProgramme()))
+                    .filter(s -> level == null || level == s.getLevel())
+                    .iterator();
+            List<Student> top = TopK.largest(candidates, limit, Comparator.comparingDouble(Student::getGpa));
+            // A NULL GPA reads back as 0.0, so the rows the SQL leaves out can't be told apart here.
+            // Only a ranking that reaches 0.0 can contain one; the database answers that rare case
+            if (top.isEmpty() || top.get(top.size() - 1).getGpa() > 0.0) {
+                return top;
+            }
+        }
+        return delegate.getTopStudentsByGpa(limit, programme, level);
+    }
+
+    // Already constant time in the wrapped repository, so not cached here
+    @Override
+    public StudentAggregates getAggregates() throws Exception {
+        return delegate.getAggregates();
+    }
+
+    @Override
+    public ConsistencyReport checkAggregates() throws Exception {
+        return delegate.checkAggregates();
+    }
+
+    @Override
+    public void rebuildAggregates() throws Exception {
+        delegate.rebuildAggregates();
+    }
+
+    @Override
+    public long[] getGpaHistogram() throws Exception {
+        return delegate.getGpaHistogram();
+    }
+
+    @Override
+    public double getActiveThreshold() throws Exception {
+        return delegate.getActiveThreshold();
+    }
+
+    // ---- Writes: delegate, then invalidate exactly what changed ----
+
+    // May change the status of any student, so everything cached is dropped
+    @Override
+    public int applyActiveThreshold(double threshold) throws Exception {
+        try {
+            return delegate.applyActiveThreshold(threshold);
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public void addStudent(Student student) throws Exception {
+        try {
+            delegate.addStudent(student);
+        } finally {
+            invalidate(student.getStudentId());
+        }
+    }
+
+    @Override
+    public void updateStudent(Student student) throws Exception {
+        try {
+            delegate.updateStudent(student);
+        } finally {
+            invalidate(student.getStudentId());
+        }
+    }
+
+    @Override
+    public void deleteStudent(String studentId) throws Exception {
+        try {
+            delegate.deleteStudent(studentId);
+        } finally {
+            invalidate(studentId);
+        }
+    }
+
+    @Override
+    public List<WriteResult> addStudents(Collection<Student> students) throws Exception {
+        try {
+            return delegate.addStudents(students);
+        } finally {
+            invalidateAll(students.stream().map(Student::getStudentId).toList());
+        }
+    }
+
+    @Override
+    public List<WriteResult> updateStudents(Collection<Student> students) throws Exception {
+        try {
+            return delegate.updateStudents(students);
+        } finally {
+            invalidateAll(students.stream().map(Student::getStudentId).toList());
+        }
+    }
+
+    @Override
+    public long replaceAllStudents(Iterator<Student> students) throws Exception {
+        try {
+            return delegate.replaceAllStudents(students);
+        } finally {
+            clear();
+        }
+    }
+
+    @Override
+    public List<WriteResult> deleteStudents(Collection<String> studentIds) throws Exception {
+        try {
+            return delegate.deleteStudents(studentIds);
+        } finally {
+            invalidateAll(studentIds);
+        }
+    }
+
+    // ---- Cache management ----
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (byId) {
+            size = byId.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(),
+                snapshotHits.sum(), snapshotMisses.sum(), size);
+    }
+
+    /**
+     * Drops everything, e.g. after the database was changed by another tool.
+     */
+    public void clear() {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            snapshot = null;
+            byId.clear();
+        }
+    }
+
+    private void invalidate(String studentId) {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            snapshot = null;
+            byId.remove(studentId);
+        }
+    }
+
+    private void invalidateAll(Collection<String> studentIds) {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            snapshot = null;
+            for (String studentId : studentIds) {
+                byId.remove(studentId);
+            }
+        }
+    }
+
+    private boolean isExpired(long loadedAt) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+
+    private static final class CachedStudent {
+        final Student student;
+        final long loadedAt;
+
+        CachedStudent(Student student, long loadedAt) {
+            this.student = student;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Snapshot {
+        final List<Student> students;
+        final long loadedAt;
+
+        Snapshot(List<Student> students, long loadedAt) {
+            this.students = students;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
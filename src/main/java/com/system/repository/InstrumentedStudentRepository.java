@@ -0,0 +1,145 @@
+package com.system.repository;
+
+import com.system.domain.ConsistencyReport;
+import com.system.domain.Student;
+import com.system.domain.StudentAggregates;
+import com.system.domain.WriteResult;
+import com.system.metrics.Counter;
+import com.system.metrics.MetricsRegistry;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Times every call to the wrapped StudentRepository.
+ *
+ * Each method gets a latency timer named prefix + "." + method name (failed calls are counted
+ * too), and the rows returned by list queries are added to prefix + ".rowsRead". Wrap the
+ * database repository to see what SQLite costs, or the cache to see what callers experience.
+ */
+public class InstrumentedStudentRepository implements StudentRepository {
+    private final StudentRepository delegate;
+    private final MetricsRegistry metrics;
+    private final String prefix;
+    private final Counter rowsRead;
+
+    public InstrumentedStudentRepository(StudentRepository delegate, MetricsRegistry metrics, String prefix) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.prefix = prefix;
+        this.rowsRead = metrics.counter(prefix + ".rowsRead");
+    }
+
+    @Override
+    public void addStudent(Student student) throws Exception {
+        metrics.timer(prefix + ".addStudent").time(() -> delegate.addStudent(student));
+    }
+
+    @Override
+    public List<Student> getAllStudents() throws Exception {
+        return rows(metrics.timer(prefix + ".getAllStudents").time(delegate::getAllStudents));
+    }
+
+    @Override
+    public Student findStudentById(String studentId) throws Exception {
+        return metrics.timer(prefix + ".findStudentById").time(() -> delegate.findStudentById(studentId));
+    }
+
+    @Override
+    public List<Student> findStudentsByIds(List<String> studentIds) throws Exception {
+        return rows(metrics.timer(prefix + ".findStudentsByIds").time(() -> delegate.findStudentsByIds(studentIds)));
+    }
+
+    @Override
+    public void updateStudent(Student student) throws Exception {
+        metrics.timer(prefix + ".updateStudent").time(() -> delegate.updateStudent(student));
+    }
+
+    @Override
+    public void deleteStudent(String studentId) throws Exception {
+        metrics.timer(prefix + ".deleteStudent").time(() -> delegate.deleteStudent(studentId));
+    }
+
+    @Override
+    public List<Student> searchStudents(String query) throws Exception {
+        return rows(metrics.timer(prefix + ".searchStudents").time(() -> delegate.searchStudents(query)));
+    }
+
+    @Override
+    public void forEachStudent(boolean reuseRow, StudentVisitor visitor) throws Exception {
+        // Includes the visitor's own time, which is usually the larger part of a scan
+        metrics.timer(prefix + ".forEachStudent").time(() -> delegate.forEachStudent(reuseRow, student -> {
+            rowsRead.increment();
+            visitor.visit(student);
+        }));
+    }
+
+    @Override
+    public List<Student> getStudentsPage(SortColumn sortColumn, SortDirection direction,
+                                         PageKey afterKey, int limit) throws Exception {
+        return rows(metrics.timer(prefix + ".getStudentsPage").time(
+                () -> delegate.getStudentsPage(sortColumn, direction, afterKey, limit)));
+    }
+
+    @Override
+    public List<Student> getTopStudentsByGpa(int limit, String programme, Integer level) throws Exception {
+        return rows(metrics.timer(prefix + ".getTopStudentsByGpa").time(
+                () -> delegate.getTopStudentsByGpa(limit, programme, level)));
+    }
+
+    @Override
+    public StudentAggregates getAggregates() throws Exception {
+        return metrics.timer(prefix + ".getAggregates").time(delegate::getAggregates);
+    }
+
+    @Override
+    public ConsistencyReport checkAggregates() throws Exception {
+        return metrics.timer(prefix + ".checkAggregates").time(delegate::checkAggregates);
+    }
+
+    @Override
+    public void rebuildAggregates() throws Exception {
+        metrics.timer(prefix + ".rebuildAggregates").time(delegate::rebuildAggregates);
+    }
+
+    @Override
+    public long[] getGpaHistogram() throws Exception {
+        return metrics.timer(prefix + ".getGpaHistogram").time(delegate::getGpaHistogram);
+    }
+
+    @Override
+    public double getActiveThreshold() throws Exception {
+        return metrics.timer(prefix + ".getActiveThreshold").time(delegate::getActiveThreshold);
+    }
+
+    @Override
+    public int applyActiveThreshold(double threshold) throws Exception {
+        return metrics.timer(prefix + ".applyActiveThreshold").time(() -> delegate.applyActiveThreshold(threshold));
+    }
+
+    @Override
+    public List<WriteResult> addStudents(Collection<Student> students) throws Exception {
+        return metrics.timer(prefix + ".addStudents").time(() -> delegate.addStudents(students));
+    }
+
+    @Override
+    public List<WriteResult> updateStudents(Collection<Student> students) throws Exception {
+        return metrics.timer(prefix + ".updateStudents").time(() -> delegate.updateStudents(students));
+    }
+
+    @Override
+    public List<WriteResult> deleteStudents(Collection<String> studentIds) throws Exception {
+        return metrics.timer(prefix + ".deleteStudents").time(() -> delegate.deleteStudents(studentIds));
+    }
+
+    @Override
+    public long replaceAllStudents(Iterator<Student> students) throws Exception {
+        return metrics.timer(prefix + ".replaceAllStudents").time(() -> delegate.replaceAllStudents(students));
+    }
+
+    private List<Student> rows(List<Student> students) {
+        rowsRead.add(students.size());
+        return students;
+    }
+}
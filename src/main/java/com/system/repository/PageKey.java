@@ -0,0 +1,27 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+
+/**
+ * Position of the last row of a page: its sort value plus its student ID.
+ * The next page starts right after this position (keyset / seek pagination).
+ */
+public class PageKey {
+    private final SortColumn column;
+    private final Object sortValue;
+    private final String studentId;
+
+    private PageKey(SortColumn column, Object sortValue, String studentId) {
+        this.column = column;
+        this.sortValue = sortValue;
+        this.studentId = studentId;
+    }
+
+    public static PageKey after(Student lastRow, SortColumn column) {
+        return new PageKey(column, column.keyOf(lastRow), lastRow.getStudentId());
+    }
+
+    public SortColumn getColumn() { return column; }
+    public Object getSortValue() { return sortValue; }
+    public String getStudentId() { return studentId; }
+}
@@ -0,0 +1,48 @@
+package com.system.repository;
+
+import org.sqlite.SQLiteConfig;
+
+/**
+ * Tuning presets applied to every pooled SQLite connection.
+ * cacheSizeKb is passed to PRAGMA cache_size as a negative value (KiB, not pages).
+ */
+public enum PragmaProfile {
+    // Full fsync on every commit, small page cache, no memory mapping
+    SAFE(SQLiteConfig.SynchronousMode.FULL, 2_000, 0L),
+    // WAL + NORMAL is durable across application crashes, only a power loss can drop the last commit
+    BALANCED(SQLiteConfig.SynchronousMode.NORMAL, 16_000, 64L * 1024 * 1024),
+    // For bulk loads and benchmarks: no fsync, large cache and mmap window
+    FAST(SQLiteConfig.SynchronousMode.OFF, 64_000, 256L * 1024 * 1024);
+
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSizeKb;
+    private final long mmapSize;
+
+    PragmaProfile(SQLiteConfig.SynchronousMode synchronous, int cacheSizeKb, long mmapSize) {
+        this.synchronous = synchronous;
+        this.cacheSizeKb = cacheSizeKb;
+        this.mmapSize = mmapSize;
+    }
+
+    public SQLiteConfig.SynchronousMode getSynchronous() { return synchronous; }
+    public int getCacheSizeKb() { return cacheSizeKb; }
+    public long getMmapSize() { return mmapSize; }
+
+    /**
+     * Builds the driver configuration for one connection of the pool.
+     * Only the writer sets the journal mode, WAL is persistent in the database file.
+     */
+    SQLiteConfig toConfig(boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        if (readOnly) {
+            config.setReadOnly(true);
+        } else {
+            config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        }
+        config.setSynchronous(synchronous);
+        config.setCacheSize(-cacheSizeKb);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setBusyTimeout(5_000);
+        return config;
+    }
+}
@@ -0,0 +1,220 @@
+package com.system.repository;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps SQLite connections open for the lifetime of the application.
+ *
+ * The database runs in WAL mode, so one writer and any number of readers can work at the same time.
+ * Writes are serialised through a single writer connection; reads borrow one of several
+ * read-only connections. Connections are opened lazily on first use.
+ *
+ * A ":memory:" URL is not supported because every connection would see its own empty database.
+ */
+public class SQLiteConnectionPool implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection conn) throws SQLException;
+    }
+
+    private final String dbUrl;
+    private final int readerCount;
+    private final PragmaProfile profile;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final BlockingQueue<PooledConnection> readers;
+    private final List<PooledConnection> allReaders = new ArrayList<>();
+    private PooledConnection writer;
+    private volatile boolean open;
+    private volatile boolean closed;
+
+    public SQLiteConnectionPool(String dbUrl, int readerCount, PragmaProfile profile) {
+        if (readerCount < 1) {
+            throw new IllegalArgumentException("Pool needs at least one reader connection.");
+        }
+        this.dbUrl = dbUrl;
+        this.readerCount = readerCount;
+        this.profile = profile;
+        this.readers = new ArrayBlockingQueue<>(readerCount);
+    }
+
+    public static int defaultReaderCount() {
+        return Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Runs work on a read-only connection. Blocks while all readers are busy.
+     */
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        ensureOpen();
+        PooledConnection conn;
+        try {
+            conn = readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        try {
+            return work.run(conn);
+        } finally {
+            readers.offer(conn);
+        }
+    }
+
+    /**
+     * Like read, but inside one read transaction: every statement of the work sees the same
+     * snapshot of the database, even while the writer commits (WAL mode).
+     */
+    public <T> T readSnapshot(SqlWork<T> work) throws SQLException {
+        return read(conn -> {
+            Connection connection = conn.getConnection();
+            connection.setAutoCommit(false);
+            try {
+                return work.run(conn);
+            } finally {
+                // Nothing was written, so ending the transaction either way just releases the snapshot
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    /**
+     * Runs work once on every reader connection that is idle right now, e.g. to warm up their
+     * statement caches. Never waits for a busy reader, so it cannot hold up other reads.
+     * Returns the number of readers visited.
+     */
+    public int forEachIdleReader(SqlWork<?> work) throws SQLException {
+        ensureOpen();
+        // Taken readers are held until the end, so each idle one is visited exactly once
+        List<PooledConnection> visited = new ArrayList<>(readerCount);
+        try {
+            PooledConnection conn;
+            while (visited.size() < readerCount && (conn = readers.poll()) != null) {
+                visited.add(conn);
+                work.run(conn);
+            }
+            return visited.size();
+        } finally {
+            visited.forEach(readers::offer);
+        }
+    }
+
+    /**
+     * Runs work on the writer connection in autocommit mode.
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        ensureOpen();
+        writeLock.lock();
+        try {
+            return work.run(writer);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs work on the writer connection inside a single transaction.
+     * The transaction is rolled back if the work throws anything, errors included.
+     */
+    public <T> T transaction(SqlWork<T> work) throws SQLException {
+        ensureOpen();
+        writeLock.lock();
+        try {
+            Connection conn = writer.getConnection();
+            conn.setAutoCommit(false);
+            boolean committed = false;
+            try {
+                T result = work.run(writer);
+                conn.commit();
+                committed = true;
+                return result;
+            } finally {
+                // Switching autocommit back on commits an open transaction, so an Error
+                // (OutOfMemoryError, StackOverflowError) must roll back here first
+                try {
+                    if (!committed) {
+                        conn.rollback();
+                    }
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public PragmaProfile getProfile() { return profile; }
+    public int getReaderCount() { return readerCount; }
+
+    private void ensureOpen() throws SQLException {
+        if (open) {
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new SQLException("Connection pool has been closed");
+            }
+            if (open) {
+                return;
+            }
+            createDataDirectory();
+            try {
+                // The writer must come first: it creates the file and switches it to WAL
+                writer = new PooledConnection(profile.toConfig(false).createConnection(dbUrl));
+                for (int i = 0; i < readerCount; i++) {
+                    PooledConnection reader = new PooledConnection(profile.toConfig(true).createConnection(dbUrl));
+                    allReaders.add(reader);
+                    readers.add(reader);
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Start from nothing on the next call instead of stacking new connections on these
+                closeConnections();
+                throw e;
+            }
+            open = true;
+        }
+    }
+
+    private void createDataDirectory() {
+        String path = dbUrl.substring(dbUrl.indexOf(':', "jdbc:".length()) + 1);
+        File parent = new File(path).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            System.err.println("Could not create database folder: " + parent);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (!open) {
+            return;
+        }
+        open = false;
+        writeLock.lock();
+        try {
+            closeConnections();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void closeConnections() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        allReaders.forEach(PooledConnection::close);
+        allReaders.clear();
+        readers.clear();
+    }
+}
@@ -1,127 +1,899 @@
 package com.system.repository;
 
+import com.system.domain.ConsistencyReport;
 import com.system.domain.Student;
+import com.system.domain.StudentAggregates;
+import com.system.domain.WriteResult;
+import com.system.metrics.jfr.RepositoryCallEvent;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
-public class SQLiteStudentRepository implements StudentRepository {
+public class SQLiteStudentRepository implements StudentRepository, AutoCloseable {
     // Database stored in a project-controlled 'data' folder [cite: 72, 149]
-    private final String dbUrl = "jdbc:sqlite:data/students.db";
+    public static final String DEFAULT_DB_URL = "jdbc:sqlite:data/students.db";
 
-    public void initializeDatabase() {
-        String sql = "CREATE TABLE IF NOT EXISTS students (" +
-                "student_id TEXT PRIMARY KEY, " +
-                "full_name TEXT NOT NULL, " +
-                "programme TEXT, " +
-                "level INTEGER, " +
-                "gpa REAL, " +
-                "email TEXT, " +
-                "phone_number TEXT, " + // Match the variable name
-                "status TEXT, " +
-                "date_added TEXT)";
+    private static final String INSERT_SQL = "INSERT INTO students (student_id, full_name, programme, level, gpa, email, phone_number, status, date_added) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ALL_SQL = "SELECT * FROM students";
+    private static final String STREAM_SQL = "SELECT student_id, full_name, programme, level, gpa, email, phone_number, status, date_added FROM students";
+    private static final String FIND_BY_ID_SQL = STREAM_SQL + " WHERE student_id = ?";
+    // Fixed number of placeholders so one cached statement serves every lookup; unused ones are bound to NULL
+    private static final int FIND_BY_IDS_CHUNK = 50;
+    private static final String FIND_BY_IDS_SQL = STREAM_SQL + " WHERE student_id IN ("
+            + String.join(", ", Collections.nCopies(FIND_BY_IDS_CHUNK, "?")) + ")";
+    private static final String UPDATE_SQL = "UPDATE students SET full_name = ?, programme = ?, level = ?, gpa = ?, email = ?, phone_number = ?, status = ? WHERE student_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM students WHERE student_id = ?";
+    private static final String DELETE_ALL_SQL = "DELETE FROM students";
+    // Secondary indexes and triggers on the students table (the primary key's own index has no sql)
+    private static final String STUDENT_SCHEMA_OBJECTS_SQL = "SELECT type, name, sql FROM sqlite_master " +
+            "WHERE tbl_name = 'students' AND type IN ('index', 'trigger') AND sql IS NOT NULL";
+    // Ranked by bm25 with matches on ID and name weighted above programme and email
+    private static final String SEARCH_SQL = "SELECT s.student_id, s.full_name, s.programme, s.level, s.gpa, s.email, s.phone_number, s.status, s.date_added " +
+            "FROM students_fts JOIN students s ON s.rowid = students_fts.rowid " +
+            "WHERE students_fts MATCH ? ORDER BY bm25(students_fts, 10.0, 5.0, 1.0, 1.0) LIMIT ?";
+    private static final String TOTALS_SQL = "SELECT total, gpa_sum FROM student_totals WHERE id = 1";
+    private static final String STATUS_COUNTS_SQL = "SELECT status, total FROM student_status_counts WHERE total <> 0";
+    private static final String RECOUNT_TOTALS_SQL = "SELECT COUNT(*), TOTAL(gpa) FROM students";
+    private static final String RECOUNT_STATUS_SQL = "SELECT COALESCE(status, ''), COUNT(*) FROM students GROUP BY COALESCE(status, '')";
+    private static final String HISTOGRAM_SQL = "SELECT bucket, total FROM gpa_histogram WHERE total <> 0";
+    private static final String REBUILD_SEARCH_INDEX_SQL = "INSERT INTO students_fts(students_fts) VALUES ('rebuild')";
+    private static final String ACTIVE_THRESHOLD_KEY = "gpa.activeThreshold";
+    private static final String GET_SETTING_SQL = "SELECT value FROM settings WHERE key = ?";
+    private static final String PUT_SETTING_SQL = "INSERT INTO settings (key, value) VALUES (?, ?) " +
+            "ON CONFLICT (key) DO UPDATE SET value = excluded.value";
+    // Same rule as Student.statusFor. Only rows whose status changes are written, so the
+    // status index and the status-count trigger are touched once per changed student.
+    private static final String DERIVE_STATUS_SQL = "UPDATE students " +
+            "SET status = CASE WHEN gpa >= ?1 THEN 'Active' ELSE 'Inactive' END " +
+            "WHERE status IS NOT (CASE WHEN gpa >= ?1 THEN 'Active' ELSE 'Inactive' END)";
+    public static final double DEFAULT_ACTIVE_THRESHOLD = 2.0;
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            System.out.println("Database schema successfully synced with Student domain.");
-        } catch (SQLException e) {
-            System.err.println("Database initialization failed: " + e.getMessage());
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+    private static final int STREAM_FETCH_SIZE = 1_000;
+    // Search results are ranked, so the first rows are the ones worth showing
+    private static final int SEARCH_LIMIT = 1_000;
+
+    // Connections stay open and keep their prepared statements between calls
+    private final SQLiteConnectionPool pool;
+    private volatile int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+
+    public SQLiteStudentRepository() {
+        this(DEFAULT_DB_URL);
+    }
+
+    public SQLiteStudentRepository(String dbUrl) {
+        this(dbUrl, SQLiteConnectionPool.defaultReaderCount(), PragmaProfile.BALANCED);
+    }
+
+    public SQLiteStudentRepository(String dbUrl, int readerCount, PragmaProfile profile) {
+        this.pool = new SQLiteConnectionPool(dbUrl, readerCount, profile);
+    }
+
+    /**
+     * Brings the database up to the latest schema version (see {@link #migrations()}).
+     * Throws if a migration fails or the database was written by a newer version of the
+     * application; the repository must not be used in either case.
+     */
+    public void initializeDatabase() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(pool, migrations());
+        for (SchemaMigration migration : migrator.migrate()) {
+            System.out.println("Applied schema migration " + migration);
         }
+        System.out.println("Database schema successfully synced with Student domain.");
     }
 
-    @Override
-    public void addStudent(Student student) throws SQLException {
-        String sql = "INSERT INTO students (student_id, full_name, programme, level, gpa, email, phone_number, status, date_added) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /**
+     * The schema history, oldest first. Never edit a migration that has been released: add a new one.
+     * Versions 1-4 recreate what initializeDatabase used to run on every start, with IF NOT EXISTS,
+     * so databases created before migrations existed are adopted without changes.
+     */
+    static List<SchemaMigration> migrations() {
+        return List.of(
+                SchemaMigration.of(1, "Create students table",
+                        "CREATE TABLE IF NOT EXISTS students (" +
+                                "student_id TEXT PRIMARY KEY, " +
+                                "full_name TEXT NOT NULL, " +
+                                "programme TEXT, " +
+                                "level INTEGER, " +
+                                "gpa REAL, " +
+                                "email TEXT, " +
+                                "phone_number TEXT, " + // Match the variable name
+                                "status TEXT, " +
+                                "date_added TEXT)"),
+                new SchemaMigration(2, "Full-text search index", SQLiteStudentRepository::createSearchIndex),
+                new SchemaMigration(3, "Dashboard summary tables", SQLiteStudentRepository::createAggregateTables),
+                // Lets ORDER BY gpa DESC LIMIT n walk the index instead of sorting the table
+                SchemaMigration.of(4, "GPA index",
+                        "CREATE INDEX IF NOT EXISTS idx_students_gpa ON students (gpa)"),
+                // One index per filter/sort column. student_id is the paging tie-breaker, so with it in the
+                // index ORDER BY col, student_id LIMIT n and the keyset seek need neither a scan nor a sort.
+                // full_name is not a filter, but the student table can be sorted by it.
+                SchemaMigration.of(5, "Secondary indexes for filtering and keyset paging",
+                        "DROP INDEX IF EXISTS idx_students_gpa",
+                        "CREATE INDEX idx_students_gpa ON students (gpa, student_id)",
+                        "CREATE INDEX idx_students_programme ON students (programme, student_id)",
+                        "CREATE INDEX idx_students_level ON students (level, student_id)",
+                        "CREATE INDEX idx_students_status ON students (status, student_id)",
+                        "CREATE INDEX idx_students_date_added ON students (date_added, student_id)",
+                        "CREATE INDEX idx_students_full_name ON students (full_name, student_id)",
+                        // Statistics for the planner, so it picks the selective index when several apply
+                        "ANALYZE"),
+                // Key/value application settings. The status column used to be written with whatever
+                // threshold was in memory at the time, so every status is re-derived from the default once.
+                SchemaMigration.of(6, "Settings table",
+                        "CREATE TABLE settings (key TEXT PRIMARY KEY, value TEXT NOT NULL)",
+                        "INSERT INTO settings (key, value) VALUES ('" + ACTIVE_THRESHOLD_KEY + "', '" + DEFAULT_ACTIVE_THRESHOLD + "')",
+                        DERIVE_STATUS_SQL.replace("?1", String.valueOf(DEFAULT_ACTIVE_THRESHOLD)))
+        );
+    }
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Opens every pooled connection and prepares the statements the first screens use, so the
+     * first user actions do not pay for connecting, reading the schema and compiling SQL.
+     * Also reads the summary tables, which brings their pages into the cache.
+     * Readers busy with other work are skipped. Returns the number of connections warmed up.
+     */
+    public int warmUp() throws SQLException {
+        // The student table opens sorted by ID: its first page and every page after it
+        Student anyRow = new Student();
+        anyRow.setStudentId("");
+        List<String> statements = List.of(TOTALS_SQL, STATUS_COUNTS_SQL, HISTOGRAM_SQL, GET_SETTING_SQL,
+                FIND_BY_ID_SQL, FIND_BY_IDS_SQL, SEARCH_SQL,
+                pageSql(SortColumn.STUDENT_ID, SortDirection.ASCENDING, null),
+                pageSql(SortColumn.STUDENT_ID, SortDirection.ASCENDING, PageKey.after(anyRow, SortColumn.STUDENT_ID)));
+        int readers = pool.forEachIdleReader(conn -> {
+            for (String sql : statements) {
+                conn.prepare(sql);
+            }
+            return readAggregates(conn, TOTALS_SQL, STATUS_COUNTS_SQL);
+        });
+        pool.write(conn -> conn.prepare(INSERT_SQL));
+        return readers + 1;
+    }
+
+    /**
+     * SQLite's EXPLAIN QUERY PLAN for a statement, one line per plan step (e.g. "SCAN students",
+     * "SEARCH students USING INDEX idx_students_level (level>?)"). For checking index use.
+     */
+    public List<String> explainQueryPlan(String sql, Object... params) throws SQLException {
+        // On the writer: a reader may still hold the schema from before a migration, and EXPLAIN does not refresh it
+        return pool.write(conn -> {
+            List<String> steps = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.getConnection().prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        steps.add(rs.getString("detail"));
+                    }
+                }
+            }
+            return steps;
+        });
+    }
 
-            pstmt.setString(1, student.getStudentId());
-            pstmt.setString(2, student.getFullName());
-            pstmt.setString(3, student.getProgramme());
-            pstmt.setInt(4, student.getLevel());
-            pstmt.setDouble(5, student.getGpa());
-            pstmt.setString(6, student.getEmail());
-            pstmt.setString(7, student.getPhoneNumber()); // Match Student.java
-            pstmt.setString(8, student.getStatus());
-            // Handle null dateAdded if necessary
-            pstmt.setString(9, student.getDateAdded() != null ? student.getDateAdded().toString() : LocalDateTime.now().toString());
+    /**
+     * Full-text index over ID, name, programme and email (FTS5, external content).
+     * The index stores only tokens; the rows themselves are read from 'students' via rowid.
+     * Triggers keep it in sync with every insert, update and delete.
+     */
+    private static void createSearchIndex(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'students_fts'")) {
+            exists = rs.next();
+        }
+
+        stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS students_fts USING fts5(" +
+                "student_id, full_name, programme, email, " +
+                "content='students', content_rowid='rowid', " +
+                "tokenize='unicode61 remove_diacritics 2', prefix='2 3')");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_insert AFTER INSERT ON students BEGIN " +
+                "INSERT INTO students_fts(rowid, student_id, full_name, programme, email) " +
+                "VALUES (new.rowid, new.student_id, new.full_name, new.programme, new.email); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_delete AFTER DELETE ON students BEGIN " +
+                "INSERT INTO students_fts(students_fts, rowid, student_id, full_name, programme, email) " +
+                "VALUES ('delete', old.rowid, old.student_id, old.full_name, old.programme, old.email); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_update " +
+                "AFTER UPDATE OF student_id, full_name, programme, email ON students BEGIN " +
+                "INSERT INTO students_fts(students_fts, rowid, student_id, full_name, programme, email) " +
+                "VALUES ('delete', old.rowid, old.student_id, old.full_name, old.programme, old.email); " +
+                "INSERT INTO students_fts(rowid, student_id, full_name, programme, email) " +
+                "VALUES (new.rowid, new.student_id, new.full_name, new.programme, new.email); END");
 
-            pstmt.executeUpdate();
+        // A database created before the index existed already has rows: index them once
+        if (!exists) {
+            stmt.execute(REBUILD_SEARCH_INDEX_SQL);
         }
     }
 
+    /**
+     * Summary tables for the dashboard: one row with the count and GPA sum, one row per status
+     * and one row per 0.01 GPA step.
+     * Triggers adjust them on every insert, update and delete, so reading them is constant time.
+     * A NULL status is counted under ''.
+     */
+    private static void createAggregateTables(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_master " +
+                "WHERE type = 'table' AND name IN ('student_totals', 'student_status_counts', 'gpa_histogram')")) {
+            exists = rs.next() && rs.getInt(1) == 3;
+        }
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS student_totals (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), total INTEGER NOT NULL, gpa_sum REAL NOT NULL)");
+        stmt.execute("CREATE TABLE IF NOT EXISTS student_status_counts (" +
+                "status TEXT PRIMARY KEY NOT NULL, total INTEGER NOT NULL)");
+
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_totals_insert AFTER INSERT ON students BEGIN " +
+                "UPDATE student_totals SET total = total + 1, gpa_sum = gpa_sum + COALESCE(new.gpa, 0) WHERE id = 1; " +
+                "INSERT INTO student_status_counts (status, total) VALUES (COALESCE(new.status, ''), 1) " +
+                "ON CONFLICT (status) DO UPDATE SET total = total + 1; END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_totals_delete AFTER DELETE ON students BEGIN " +
+                "UPDATE student_totals SET total = total - 1, gpa_sum = gpa_sum - COALESCE(old.gpa, 0) WHERE id = 1; " +
+                "UPDATE student_status_counts SET total = total - 1 WHERE status = COALESCE(old.status, ''); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_totals_update_gpa AFTER UPDATE OF gpa ON students " +
+                "WHEN old.gpa IS NOT new.gpa BEGIN " +
+                "UPDATE student_totals SET gpa_sum = gpa_sum - COALESCE(old.gpa, 0) + COALESCE(new.gpa, 0) WHERE id = 1; END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_totals_update_status AFTER UPDATE OF status ON students " +
+                "WHEN COALESCE(old.status, '') IS NOT COALESCE(new.status, '') BEGIN " +
+                "UPDATE student_status_counts SET total = total - 1 WHERE status = COALESCE(old.status, ''); " +
+                "INSERT INTO student_status_counts (status, total) VALUES (COALESCE(new.status, ''), 1) " +
+                "ON CONFLICT (status) DO UPDATE SET total = total + 1; END");
+
+        // Students per 0.01 GPA step, bucket = GPA in hundredths rounded down (see GPA_BUCKET)
+        stmt.execute("CREATE TABLE IF NOT EXISTS gpa_histogram (bucket INTEGER PRIMARY KEY, total INTEGER NOT NULL)");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_histogram_insert AFTER INSERT ON students " +
+                "WHEN new.gpa IS NOT NULL BEGIN " +
+                "INSERT INTO gpa_histogram (bucket, total) VALUES (" + gpaBucket("new.gpa") + ", 1) " +
+                "ON CONFLICT (bucket) DO UPDATE SET total = total + 1; END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_histogram_delete AFTER DELETE ON students " +
+                "WHEN old.gpa IS NOT NULL BEGIN " +
+                "UPDATE gpa_histogram SET total = total - 1 WHERE bucket = " + gpaBucket("old.gpa") + "; END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS students_histogram_update AFTER UPDATE OF gpa ON students " +
+                "WHEN old.gpa IS NOT new.gpa BEGIN " +
+                "UPDATE gpa_histogram SET total = total - 1 WHERE old.gpa IS NOT NULL AND bucket = " + gpaBucket("old.gpa") + "; " +
+                "INSERT INTO gpa_histogram (bucket, total) SELECT " + gpaBucket("new.gpa") + ", 1 WHERE new.gpa IS NOT NULL " +
+                "ON CONFLICT (bucket) DO UPDATE SET total = total + 1; END");
+
+        // Seed the totals once from the rows that were there before the summary tables existed
+        if (!exists) {
+            fillAggregateTables(stmt);
+        }
+    }
+
+    private static void fillAggregateTables(Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM student_totals");
+        stmt.execute("DELETE FROM student_status_counts");
+        stmt.execute("INSERT INTO student_totals (id, total, gpa_sum) SELECT 1, COUNT(*), TOTAL(gpa) FROM students");
+        stmt.execute("INSERT INTO student_status_counts (status, total) " +
+                "SELECT COALESCE(status, ''), COUNT(*) FROM students GROUP BY COALESCE(status, '')");
+        stmt.execute("DELETE FROM gpa_histogram");
+        stmt.execute("INSERT INTO gpa_histogram (bucket, total) SELECT " + gpaBucket("gpa") + ", COUNT(*) " +
+                "FROM students WHERE gpa IS NOT NULL GROUP BY 1");
+    }
+
+    // Same bucketing as GpaHistogram.bucketOf: hundredths rounded down, clamped to 0 - 400
+    private static String gpaBucket(String gpa) {
+        return "MIN(400, MAX(0, CAST(" + gpa + " * 100 + 1e-9 AS INTEGER)))";
+    }
+
+    /**
+     * Re-indexes every row from scratch. Only needed if the index was damaged or
+     * the table was rewritten outside the application (e.g. VACUUM renumbering rowids).
+     */
+    public void rebuildSearchIndex() throws SQLException {
+        pool.write(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute(REBUILD_SEARCH_INDEX_SQL);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void addStudent(Student student) throws SQLException {
+        traced("addStudent", INSERT_SQL, () -> pool.write(conn -> {
+            PreparedStatement pstmt = conn.prepare(INSERT_SQL);
+            bindInsert(pstmt, student);
+            return pstmt.executeUpdate();
+        }));
+    }
+
     @Override
     public List<Student> getAllStudents() throws SQLException {
-        List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students";
+        return traced("getAllStudents", SELECT_ALL_SQL, () -> pool.read(conn -> {
+            List<Student> students = new ArrayList<>();
+            try (ResultSet rs = conn.prepare(SELECT_ALL_SQL).executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapResultSetToStudent(rs));
+                }
+            }
+            return students;
+        }));
+    }
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    @Override
+    public Student findStudentById(String studentId) throws SQLException {
+        return traced("findStudentById", FIND_BY_ID_SQL, () -> pool.read(conn -> {
+            PreparedStatement pstmt = conn.prepare(FIND_BY_ID_SQL);
+            pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? fillStudent(rs, new Student()) : null;
+            }
+        }));
+    }
 
-            while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
+    @Override
+    public List<Student> findStudentsByIds(List<String> studentIds) throws SQLException {
+        Map<String, Student> found = new HashMap<>(studentIds.size() * 2);
+        traced("findStudentsByIds", FIND_BY_IDS_SQL, () -> pool.read(conn -> {
+            PreparedStatement pstmt = conn.prepare(FIND_BY_IDS_SQL);
+            for (int from = 0; from < studentIds.size(); from += FIND_BY_IDS_CHUNK) {
+                for (int i = 0; i < FIND_BY_IDS_CHUNK; i++) {
+                    int at = from + i;
+                    pstmt.setString(i + 1, at < studentIds.size() ? studentIds.get(at) : null);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Student student = fillStudent(rs, new Student());
+                        found.put(student.getStudentId(), student);
+                    }
+                }
+            }
+            return found.size();
+        }));
+
+        List<Student> students = new ArrayList<>(found.size());
+        for (String studentId : studentIds) {
+            Student student = found.get(studentId);
+            if (student != null) {
+                students.add(student);
             }
         }
         return students;
     }
 
     @Override
-    public void updateStudent(Student student) throws SQLException {
-        String sql = "UPDATE students SET full_name = ?, programme = ?, level = ?, gpa = ?, email = ?, phone = ?, status = ? WHERE student_id = ?";
+    public void forEachStudent(boolean reuseRow, StudentVisitor visitor) throws Exception {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        long[] rows = new long[1];
+        try {
+            pool.read(conn -> {
+                PreparedStatement pstmt = conn.prepare(STREAM_SQL);
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+                Student row = reuseRow ? new Student() : null;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Student student = fillStudent(rs, reuseRow ? row : new Student());
+                        rows[0]++;
+                        try {
+                            visitor.visit(student);
+                        } catch (Exception e) {
+                            throw new VisitorFailure(e);
+                        }
+                    }
+                }
+                return null;
+            });
+            event.succeeded = true;
+        } catch (VisitorFailure failure) {
+            // Hand the visitor's own exception back to the caller unchanged
+            throw failure.getCause();
+        } finally {
+            // The duration includes the visitor's own work
+            commit(event, "forEachStudent", STREAM_SQL, rows[0]);
+        }
+    }
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    // A repository call; SQLException is the only checked exception it may throw
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
 
-            pstmt.setString(1, student.getFullName());
-            pstmt.setString(2, student.getProgramme());
-            pstmt.setInt(3, student.getLevel());
-            pstmt.setDouble(4, student.getGpa());
-            pstmt.setString(5, student.getEmail());
-            pstmt.setString(6, student.getPhoneNumber());
-            pstmt.setString(7, student.getStatus());
-            pstmt.setString(8, student.getStudentId());
+    /**
+     * Runs the call inside a RepositoryCallEvent, so Flight Recorder shows the operation, its SQL
+     * and row count instead of bare JDBC frames. Costs next to nothing while no recording is running.
+     */
+    private static <T> T traced(String operation, String sql, SqlCall<T> call) throws SQLException {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        T result = null;
+        try {
+            result = call.call();
+            event.succeeded = true;
+            return result;
+        } finally {
+            commit(event, operation, sql, RepositoryCallEvent.rowsOf(result));
+        }
+    }
 
-            pstmt.executeUpdate();
+    private static void commit(RepositoryCallEvent event, String operation, String sql, long rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.sql = sql;
+            event.rows = rows;
+            event.commit();
         }
     }
 
     @Override
-    public void deleteStudent(String studentId) throws SQLException {
-        // Requirement: Delete a student record [cite: 44]
-        String sql = "DELETE FROM students WHERE student_id = ?";
+    public List<Student> getStudentsPage(SortColumn sortColumn, SortDirection direction,
+                                         PageKey afterKey, int limit) throws SQLException {
+        if (afterKey != null && afterKey.getColumn() != sortColumn) {
+            throw new IllegalArgumentException("Page key was taken from a different sort column.");
+        }
+        String sql = pageSql(sortColumn, direction, afterKey);
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return traced("getStudentsPage", sql, () -> pool.read(conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
+            int index = 1;
+            if (afterKey != null) {
+                if (sortColumn != SortColumn.STUDENT_ID && afterKey.getSortValue() != null) {
+                    pstmt.setObject(index++, afterKey.getSortValue());
+                    pstmt.setObject(index++, afterKey.getSortValue());
+                }
+                pstmt.setString(index++, afterKey.getStudentId());
+            }
+            pstmt.setInt(index, limit);
 
-            pstmt.setString(1, studentId);
-            pstmt.executeUpdate();
+            List<Student> page = new ArrayList<>(limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(fillStudent(rs, new Student()));
+                }
+            }
+            return page;
+        }));
+    }
+
+    /**
+     * Builds the seek predicate for the page after afterKey. NULL sort values come first in
+     * ascending order and last in descending order, which is how SQLite orders them.
+     */
+    private static String pageSql(SortColumn sortColumn, SortDirection direction, PageKey afterKey) {
+        String col = sortColumn.getColumnName();
+        String dir = direction.getSql();
+        boolean ascending = direction == SortDirection.ASCENDING;
+        String cmp = ascending ? ">" : "<";
+
+        StringBuilder sql = new StringBuilder(STREAM_SQL);
+        if (afterKey != null) {
+            if (sortColumn == SortColumn.STUDENT_ID) {
+                sql.append(" WHERE student_id ").append(cmp).append(" ?");
+            } else if (afterKey.getSortValue() == null) {
+                sql.append(ascending
+                        ? " WHERE ((" + col + " IS NULL AND student_id > ?) OR " + col + " IS NOT NULL)"
+                        : " WHERE " + col + " IS NULL AND student_id < ?");
+            } else {
+                // "col >= ?" lets SQLite seek an index on col; the OR resolves ties on student_id
+                sql.append(" WHERE (").append(col).append(' ').append(cmp).append("= ? AND (")
+                        .append(col).append(' ').append(cmp).append(" ? OR student_id ").append(cmp).append(" ?))");
+                if (!ascending) {
+                    sql.append(" OR ").append(col).append(" IS NULL");
+                }
+            }
+        }
+        sql.append(" ORDER BY ");
+        if (sortColumn != SortColumn.STUDENT_ID) {
+            sql.append(col).append(' ').append(dir).append(", ");
         }
+        sql.append("student_id ").append(dir).append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    @Override
+    public void updateStudent(Student student) throws SQLException {
+        traced("updateStudent", UPDATE_SQL, () -> pool.write(conn -> {
+            PreparedStatement pstmt = conn.prepare(UPDATE_SQL);
+            bindUpdate(pstmt, student);
+            return pstmt.executeUpdate();
+        }));
+    }
+
+    @Override
+    public void deleteStudent(String studentId) throws SQLException {
+        // Requirement: Delete a student record [cite: 44]
+        traced("deleteStudent", DELETE_SQL, () -> pool.write(conn -> {
+            PreparedStatement pstmt = conn.prepare(DELETE_SQL);
+            pstmt.setString(1, studentId);
+            return pstmt.executeUpdate();
+        }));
     }
 
     @Override
     public List<Student> searchStudents(String query) throws SQLException {
         // Requirement: Search by ID or Full Name [cite: 45]
-        List<Student> results = new ArrayList<>();
-        String sql = "SELECT * FROM students WHERE student_id LIKE ? OR full_name LIKE ?";
+        String match = toMatchExpression(query);
+        if (match.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        try (Connection conn = DriverManager.getConnection(dbUrl);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return traced("searchStudents", SEARCH_SQL, () -> pool.read(conn -> {
+            List<Student> results = new ArrayList<>();
+            PreparedStatement pstmt = conn.prepare(SEARCH_SQL);
+            pstmt.setString(1, match);
+            pstmt.setInt(2, SEARCH_LIMIT);
 
-            String searchPattern = "%" + query + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(fillStudent(rs, new Student()));
+                }
+            }
+            return results;
+        }));
+    }
 
+    /**
+     * Turns free text into an FTS5 query: every word becomes a quoted prefix term ("ann"* "le"*),
+     * and all terms must match. Quoting keeps user input from being read as FTS syntax.
+     */
+    static String toMatchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        if (query == null) {
+            return "";
+        }
+        int start = -1;
+        for (int i = 0; i <= query.length(); i++) {
+            boolean wordChar = i < query.length() && Character.isLetterOrDigit(query.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(query, start, i).append("\"*");
+                start = -1;
+            }
+        }
+        return match.toString();
+    }
+
+    @Override
+    public List<Student> getTopStudentsByGpa(int limit, String programme, Integer level) throws SQLException {
+        // Only the filters that are set become part of the SQL, so each variant has its own cached statement
+        StringBuilder sql = new StringBuilder(STREAM_SQL).append(" WHERE gpa IS NOT NULL");
+        // The unary + keeps SQLite from using the programme/level indexes here: walking the GPA index
+        // stops after limit matches, while an equality lookup would have to sort the whole group
+        if (programme != null) {
+            sql.append(" AND +programme = ?");
+        }
+        if (level != null) {
+            sql.append(" AND +level = ?");
+        }
+        sql.append(" ORDER BY gpa DESC LIMIT ?");
+
+        return traced("getTopStudentsByGpa", sql.toString(), () -> pool.read(conn -> {
+            PreparedStatement pstmt = conn.prepare(sql.toString());
+            int index = 1;
+            if (programme != null) {
+                pstmt.setString(index++, programme);
+            }
+            if (level != null) {
+                pstmt.setInt(index++, level);
+            }
+            pstmt.setInt(index, limit);
+
+            List<Student> top = new ArrayList<>(limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    top.add(fillStudent(rs, new Student()));
+                }
+            }
+            return top;
+        }));
+    }
+
+    @Override
+    public StudentAggregates getAggregates() throws SQLException {
+        // One snapshot, so the total and the status counts agree with each other
+        return traced("getAggregates", TOTALS_SQL,
+                () -> pool.readSnapshot(conn -> readAggregates(conn, TOTALS_SQL, STATUS_COUNTS_SQL)));
+    }
+
+    @Override
+    public ConsistencyReport checkAggregates() throws SQLException {
+        // A write committed between the two reads would otherwise show up as drift
+        return traced("checkAggregates", RECOUNT_TOTALS_SQL, () -> pool.readSnapshot(conn -> new ConsistencyReport(
+                readAggregates(conn, TOTALS_SQL, STATUS_COUNTS_SQL),
+                readAggregates(conn, RECOUNT_TOTALS_SQL, RECOUNT_STATUS_SQL))));
+    }
+
+    @Override
+    public void rebuildAggregates() throws SQLException {
+        traced("rebuildAggregates", RECOUNT_TOTALS_SQL, () -> pool.transaction(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                fillAggregateTables(stmt);
+            }
+            return null;
+        }));
+    }
+
+    @Override
+    public double getActiveThreshold() throws SQLException {
+        return traced("getActiveThreshold", GET_SETTING_SQL, () -> pool.read(conn -> {
+            PreparedStatement pstmt = conn.prepare(GET_SETTING_SQL);
+            pstmt.setString(1, ACTIVE_THRESHOLD_KEY);
             try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? Double.parseDouble(rs.getString(1)) : DEFAULT_ACTIVE_THRESHOLD;
+            }
+        }));
+    }
+
+    @Override
+    public int applyActiveThreshold(double threshold) throws SQLException {
+        return traced("applyActiveThreshold", DERIVE_STATUS_SQL, () -> pool.transaction(conn -> {
+            PreparedStatement setting = conn.prepare(PUT_SETTING_SQL);
+            setting.setString(1, ACTIVE_THRESHOLD_KEY);
+            setting.setString(2, String.valueOf(threshold));
+            setting.executeUpdate();
+
+            PreparedStatement derive = conn.prepare(DERIVE_STATUS_SQL);
+            derive.setDouble(1, threshold);
+            return derive.executeUpdate();
+        }));
+    }
+
+    private static StudentAggregates readAggregates(PooledConnection conn, String totalsSql, String statusSql) throws SQLException {
+        long total = 0;
+        double gpaSum = 0;
+        try (ResultSet rs = conn.prepare(totalsSql).executeQuery()) {
+            if (rs.next()) {
+                total = rs.getLong(1);
+                gpaSum = rs.getDouble(2);
+            }
+        }
+        Map<String, Long> statusCounts = new HashMap<>();
+        try (ResultSet rs = conn.prepare(statusSql).executeQuery()) {
+            while (rs.next()) {
+                statusCounts.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return new StudentAggregates(total, gpaSum, statusCounts);
+    }
+
+    @Override
+    public long[] getGpaHistogram() throws SQLException {
+        return traced("getGpaHistogram", HISTOGRAM_SQL, () -> pool.read(conn -> {
+            long[] counts = new long[401];
+            try (ResultSet rs = conn.prepare(HISTOGRAM_SQL).executeQuery()) {
                 while (rs.next()) {
-                    results.add(mapResultSetToStudent(rs));
+                    counts[rs.getInt(1)] = rs.getLong(2);
+                }
+            }
+            return counts;
+        }));
+    }
+
+    @Override
+    public List<WriteResult> addStudents(Collection<Student> students) throws SQLException {
+        return traced("addStudents", INSERT_SQL, () -> executeBatch(INSERT_SQL, new ArrayList<>(students),
+                Student::getStudentId, this::bindInsert, null));
+    }
+
+    @Override
+    public List<WriteResult> updateStudents(Collection<Student> students) throws SQLException {
+        return traced("updateStudents", UPDATE_SQL, () -> executeBatch(UPDATE_SQL, new ArrayList<>(students),
+                Student::getStudentId, this::bindUpdate, "No student found with this ID."));
+    }
+
+    @Override
+    public List<WriteResult> deleteStudents(Collection<String> studentIds) throws SQLException {
+        return traced("deleteStudents", DELETE_SQL, () -> executeBatch(DELETE_SQL, new ArrayList<>(studentIds),
+                id -> id, (pstmt, id) -> pstmt.setString(1, id), "No student found with this ID."));
+    }
+
+    /**
+     * Streams the rows through the same chunked insert batch as addStudents, without per-row results.
+     * Maintaining the secondary indexes, the search index and the summary tables row by row costs far
+     * more than the inserts themselves, so the indexes and triggers are dropped for the duration and
+     * everything is rebuilt once at the end. That is DDL inside the same transaction, so a failed
+     * restore rolls back to the old table with its indexes and triggers intact.
+     */
+    @Override
+    public long replaceAllStudents(Iterator<Student> students) throws SQLException {
+        int chunkSize = batchChunkSize;
+        return traced("replaceAllStudents", INSERT_SQL, () -> pool.transaction(conn -> {
+            List<String> recreate = new ArrayList<>();
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                List<String> drop = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery(STUDENT_SCHEMA_OBJECTS_SQL)) {
+                    while (rs.next()) {
+                        drop.add("DROP " + rs.getString(1).toUpperCase() + " \"" + rs.getString(2) + "\"");
+                        recreate.add(rs.getString(3));
+                    }
+                }
+                for (String sql : drop) {
+                    stmt.execute(sql);
+                }
+                // Without delete triggers SQLite empties the table in one step instead of row by row
+                stmt.executeUpdate(DELETE_ALL_SQL);
+            }
+
+            long inserted = insertAll(conn, students, chunkSize);
+
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                for (String sql : recreate) {
+                    stmt.execute(sql);
+                }
+                stmt.execute(REBUILD_SEARCH_INDEX_SQL);
+                fillAggregateTables(stmt);
+            }
+            return inserted;
+        }));
+    }
+
+    private long insertAll(PooledConnection conn, Iterator<Student> students, int chunkSize) throws SQLException {
+        PreparedStatement pstmt = conn.prepare(INSERT_SQL);
+        long inserted = 0;
+        int batched = 0;
+        try {
+            while (students.hasNext()) {
+                bindInsert(pstmt, students.next());
+                pstmt.addBatch();
+                if (++batched == chunkSize) {
+                    pstmt.executeBatch();
+                    inserted += batched;
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                pstmt.executeBatch();
+                inserted += batched;
+            }
+        } finally {
+            // The statement is cached, so don't leave the rest of a failed chunk queued on it, whatever was thrown
+            pstmt.clearBatch();
+        }
+        return inserted;
+    }
+
+    public int getBatchChunkSize() { return batchChunkSize; }
+
+    /**
+     * Number of rows sent per executeBatch call. Larger chunks mean fewer round trips
+     * into the driver, smaller chunks mean less work to redo when a row fails.
+     */
+    public void setBatchChunkSize(int batchChunkSize) {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("Batch chunk size must be positive.");
+        }
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /**
+     * Runs one statement for every row inside a single transaction, chunk by chunk.
+     * If a chunk fails it is rolled back to its savepoint and replayed row by row,
+     * so only the offending rows are reported as failed and the rest are still written.
+     *
+     * @param missingRowMessage failure message when a row matched nothing, or null if that is fine
+     */
+    private <T> List<WriteResult> executeBatch(String sql, List<T> rows, Function<T, String> idOf,
+                                               StatementBinder<T> binder, String missingRowMessage) throws SQLException {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int chunkSize = batchChunkSize;
+        return pool.transaction(conn -> {
+            List<WriteResult> results = new ArrayList<>(rows.size());
+            PreparedStatement pstmt = conn.prepare(sql);
+
+            for (int start = 0; start < rows.size(); start += chunkSize) {
+                List<T> chunk = rows.subList(start, Math.min(start + chunkSize, rows.size()));
+                Savepoint savepoint = conn.getConnection().setSavepoint();
+                try {
+                    for (T row : chunk) {
+                        binder.bind(pstmt, row);
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        results.add(toResult(idOf.apply(chunk.get(i)), counts[i], missingRowMessage));
+                    }
+                } catch (SQLException e) {
+                    // sqlite-jdbc reports batch failures as a plain SQLiteException, not BatchUpdateException
+                    pstmt.clearBatch();
+                    conn.getConnection().rollback(savepoint);
+                    // A failed statement only aborts itself in SQLite, so the replay needs no extra savepoints
+                    for (T row : chunk) {
+                        String id = idOf.apply(row);
+                        try {
+                            binder.bind(pstmt, row);
+                            results.add(toResult(id, pstmt.executeUpdate(), missingRowMessage));
+                        } catch (SQLException rowError) {
+                            results.add(WriteResult.failed(id, rowError.getMessage()));
+                        }
+                    }
+                } finally {
+                    // The statement is cached, so don't leave the chunk queued on it if binding a row threw
+                    pstmt.clearBatch();
+                    conn.getConnection().releaseSavepoint(savepoint);
                 }
             }
+            return results;
+        });
+    }
+
+    private static WriteResult toResult(String studentId, int updateCount, String missingRowMessage) {
+        if (updateCount == 0 && missingRowMessage != null) {
+            return WriteResult.failed(studentId, missingRowMessage);
+        }
+        return WriteResult.ok(studentId);
+    }
+
+    private void bindInsert(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getStudentId());
+        pstmt.setString(2, student.getFullName());
+        pstmt.setString(3, student.getProgramme());
+        pstmt.setInt(4, student.getLevel());
+        pstmt.setDouble(5, student.getGpa());
+        pstmt.setString(6, student.getEmail());
+        pstmt.setString(7, student.getPhoneNumber()); // Match Student.java
+        pstmt.setString(8, student.getStatus());
+        // Handle null dateAdded if necessary
+        pstmt.setString(9, student.getDateAdded() != null ? student.getDateAdded().toString() : LocalDateTime.now().toString());
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getFullName());
+        pstmt.setString(2, student.getProgramme());
+        pstmt.setInt(3, student.getLevel());
+        pstmt.setDouble(4, student.getGpa());
+        pstmt.setString(5, student.getEmail());
+        pstmt.setString(6, student.getPhoneNumber());
+        pstmt.setString(7, student.getStatus());
+        pstmt.setString(8, student.getStudentId());
+    }
+
+    // Reads the STREAM_SQL column order by index, which skips the per-row column name lookup
+    private Student fillStudent(ResultSet rs, Student target) throws SQLException {
+        target.setStudentId(rs.getString(1));
+        target.setFullName(rs.getString(2));
+        target.setProgramme(rs.getString(3));
+        target.setLevel(rs.getInt(4));
+        target.setGpa(rs.getDouble(5));
+        target.setEmail(rs.getString(6));
+        target.setPhoneNumber(rs.getString(7));
+        target.setStatus(rs.getString(8));
+        String dateAdded = rs.getString(9);
+        target.setDateAdded(dateAdded != null ? LocalDateTime.parse(dateAdded) : null);
+        return target;
+    }
+
+    // Carries a visitor's checked exception through SqlWork, which only allows SQLException
+    private static final class VisitorFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        VisitorFailure(Exception cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
         }
-        return results;
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Closes every pooled connection. Called once when the application stops.
+     */
+    @Override
+    public void close() {
+        pool.close();
     }
 
     private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
@@ -136,4 +908,4 @@ public class SQLiteStudentRepository implements StudentRepository {
                 rs.getString("status"),
                 LocalDateTime.parse(rs.getString("date_added"))
         );
-    }}
\ No newline at end of file
+    }}
@@ -0,0 +1,50 @@
+package com.system.repository;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One step of the database schema history. Applied at most once per database, in version order,
+ * inside its own transaction by {@link SchemaMigrator}.
+ */
+public class SchemaMigration {
+
+    @FunctionalInterface
+    public interface Body {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Body body;
+
+    public SchemaMigration(int version, String description, Body body) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration versions start at 1.");
+        }
+        this.version = version;
+        this.description = description;
+        this.body = body;
+    }
+
+    // Convenience for migrations that are just a list of statements
+    public static SchemaMigration of(int version, String description, String... statements) {
+        return new SchemaMigration(version, description, stmt -> {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        });
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+
+    void apply(Statement stmt) throws SQLException {
+        body.apply(stmt);
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
@@ -0,0 +1,91 @@
+package com.system.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Brings a database up to the latest schema version.
+ *
+ * The applied versions are recorded in the schema_version table. Pending migrations run in
+ * ascending version order, each in its own transaction together with its schema_version row,
+ * so a failing migration leaves the database at the previous version and stops the run.
+ */
+public class SchemaMigrator {
+    private static final String CREATE_VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INTEGER PRIMARY KEY, description TEXT NOT NULL, applied_at TEXT NOT NULL)";
+    private static final String CURRENT_VERSION_SQL = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+    private static final String RECORD_VERSION_SQL = "INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?)";
+
+    private final SQLiteConnectionPool pool;
+    private final List<SchemaMigration> migrations;
+
+    public SchemaMigrator(SQLiteConnectionPool pool, List<SchemaMigration> migrations) {
+        List<SchemaMigration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(SchemaMigration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).getVersion());
+            }
+        }
+        this.pool = pool;
+        this.migrations = sorted;
+    }
+
+    /**
+     * Highest version applied to the database, 0 for a database that has never been migrated.
+     */
+    public int currentVersion() throws SQLException {
+        return pool.write(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE_SQL);
+                try (ResultSet rs = stmt.executeQuery(CURRENT_VERSION_SQL)) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        });
+    }
+
+    public int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    /**
+     * Applies every migration newer than the current version. Returns the migrations that were applied.
+     */
+    public List<SchemaMigration> migrate() throws SQLException {
+        int current = currentVersion();
+        if (current > latestVersion()) {
+            throw new SQLException("Database schema version " + current
+                    + " is newer than this application supports (" + latestVersion() + ").");
+        }
+        List<SchemaMigration> applied = new ArrayList<>();
+        for (SchemaMigration migration : migrations) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            try {
+                pool.transaction(conn -> {
+                    try (Statement stmt = conn.getConnection().createStatement()) {
+                        migration.apply(stmt);
+                    }
+                    PreparedStatement record = conn.prepare(RECORD_VERSION_SQL);
+                    record.setInt(1, migration.getVersion());
+                    record.setString(2, migration.getDescription());
+                    record.setString(3, LocalDateTime.now().toString());
+                    record.executeUpdate();
+                    return null;
+                });
+            } catch (SQLException e) {
+                throw new SQLException("Migration " + migration + " failed: " + e.getMessage(), e);
+            }
+            applied.add(migration);
+        }
+        return applied;
+    }
+}
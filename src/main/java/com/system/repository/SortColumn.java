@@ -0,0 +1,47 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Columns the student table can be ordered by. Every page query adds student_id as a tie-breaker,
+ * so the order is total and a page can be resumed from its last row.
+ */
+public enum SortColumn {
+    STUDENT_ID("student_id", Student::getStudentId),
+    FULL_NAME("full_name", Student::getFullName),
+    PROGRAMME("programme", Student::getProgramme),
+    LEVEL("level", Student::getLevel),
+    GPA("gpa", Student::getGpa),
+    STATUS("status", Student::getStatus),
+    // Stored as ISO-8601 text, so text order is date order
+    DATE_ADDED("date_added", s -> s.getDateAdded() != null ? s.getDateAdded().toString() : null);
+
+    private final String columnName;
+    private final Function<Student, Object> keyExtractor;
+
+    SortColumn(String columnName, Function<Student, Object> keyExtractor) {
+        this.columnName = columnName;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String getColumnName() { return columnName; }
+
+    Object keyOf(Student student) {
+        return keyExtractor.apply(student);
+    }
+
+    /**
+     * The order of the page queries, for placing rows in an already loaded page: this column with
+     * NULL first (as SQLite sorts it), then student_id, all reversed for descending. Text compares
+     * by UTF-16 unit, which matches SQLite's BINARY collation outside the supplementary planes.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<Student> comparator(SortDirection direction) {
+        Comparator<Student> order = Comparator.comparing(s -> (Comparable) keyOf(s),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        order = order.thenComparing(Student::getStudentId);
+        return direction == SortDirection.DESCENDING ? order.reversed() : order;
+    }
+}
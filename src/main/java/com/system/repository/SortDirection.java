@@ -0,0 +1,14 @@
+package com.system.repository;
+
+public enum SortDirection {
+    ASCENDING("ASC"),
+    DESCENDING("DESC");
+
+    private final String sql;
+
+    SortDirection(String sql) {
+        this.sql = sql;
+    }
+
+    public String getSql() { return sql; }
+}
@@ -1,12 +1,66 @@
 package com.system.repository;
 
+import com.system.domain.ConsistencyReport;
 import com.system.domain.Student;
+import com.system.domain.StudentAggregates;
+import com.system.domain.WriteResult;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 public interface StudentRepository {
     void addStudent(Student student) throws Exception;
     List<Student> getAllStudents() throws Exception;
+    // Returns null when no student has this ID
+    Student findStudentById(String studentId) throws Exception;
+    // Looks up many students at once; result follows the order of the IDs, unknown IDs are skipped
+    List<Student> findStudentsByIds(List<String> studentIds) throws Exception;
     void updateStudent(Student student) throws Exception;
     void deleteStudent(String studentId) throws Exception;
     List<Student> searchStudents(String query) throws Exception;
-}
\ No newline at end of file
+
+    /**
+     * Streams every student to the visitor straight from the database cursor, without building a list.
+     * With reuseRow the same Student object is refilled for every row, so the visitor must copy
+     * anything it wants to keep. The visitor should not call back into the repository.
+     */
+    void forEachStudent(boolean reuseRow, StudentVisitor visitor) throws Exception;
+
+    /**
+     * Returns up to limit students ordered by sortColumn (then student_id), starting right after afterKey.
+     * Pass null as afterKey for the first page. Uses keyset pagination, so deep pages cost the same as the first.
+     */
+    List<Student> getStudentsPage(SortColumn sortColumn, SortDirection direction, PageKey afterKey, int limit) throws Exception;
+
+    /**
+     * Requirement 5.3: the limit students with the highest GPA, best first.
+     * programme and level are optional filters (null means any).
+     */
+    List<Student> getTopStudentsByGpa(int limit, String programme, Integer level) throws Exception;
+
+    // Running totals kept up to date on every write, so reading them does not scan the table
+    StudentAggregates getAggregates() throws Exception;
+    // The running totals next to a recount with a full scan, both read from the same snapshot
+    ConsistencyReport checkAggregates() throws Exception;
+    // Replaces the running totals (and the GPA histogram) with a fresh recount
+    void rebuildAggregates() throws Exception;
+    // Students per 0.01 GPA step: element i counts GPAs in [i / 100, (i + 1) / 100), 401 elements
+    long[] getGpaHistogram() throws Exception;
+
+    // The persisted GPA at or above which a student is "Active"
+    double getActiveThreshold() throws Exception;
+    // Saves a new threshold and re-derives every stored status from it in one transaction;
+    // returns the number of students whose status changed
+    int applyActiveThreshold(double threshold) throws Exception;
+
+    // Batch variants: one transaction for the whole collection, one result per row (in input order)
+    List<WriteResult> addStudents(Collection<Student> students) throws Exception;
+    List<WriteResult> updateStudents(Collection<Student> students) throws Exception;
+    List<WriteResult> deleteStudents(Collection<String> studentIds) throws Exception;
+
+    /**
+     * Full restore: deletes every student and inserts the ones the iterator yields, in one transaction.
+     * Any failing row (e.g. a duplicate ID) rolls the whole restore back. Returns the number inserted.
+     */
+    long replaceAllStudents(Iterator<Student> students) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+
+/**
+ * Callback for {@link StudentRepository#forEachStudent}, invoked once per row while the cursor is open.
+ */
+@FunctionalInterface
+public interface StudentVisitor {
+    void visit(Student student) throws Exception;
+}
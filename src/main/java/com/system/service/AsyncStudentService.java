@@ -0,0 +1,210 @@
+package com.system.service;
+
+import com.system.domain.ConsistencyReport;
+import com.system.domain.DashboardStats;
+import com.system.domain.GpaDistribution;
+import com.system.domain.Student;
+import com.system.domain.StudentChange;
+import com.system.repository.PageKey;
+import com.system.repository.SortColumn;
+import com.system.repository.SortDirection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking facade over StudentService for the UI.
+ *
+ * Every call runs on its own virtual thread, so database work never blocks the JavaFX thread.
+ * The returned futures are completed through the result executor (Platform::runLater in the app),
+ * which means callbacks attached with whenComplete/thenAccept may touch controls directly.
+ *
+ * Calls made with a key supersede each other: starting a new "search" cancels the previous
+ * one if it is still running, and its result is never delivered.
+ */
+public class AsyncStudentService implements AutoCloseable {
+    private final StudentService service;
+    private final Executor resultExecutor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<?>> latestByKey = new ConcurrentHashMap<>();
+
+    public AsyncStudentService(StudentService service, Executor resultExecutor) {
+        this.service = service;
+        this.resultExecutor = resultExecutor;
+    }
+
+    // For code that already runs off the UI thread (e.g. the CSV import pipeline)
+    public StudentService getService() {
+        return service;
+    }
+
+    /**
+     * Delivers every committed write to the listener through the result executor, so on the
+     * JavaFX thread, with the writes of one burst coalesced into a single call.
+     */
+    public StudentChangeBus.Subscription subscribe(Consumer<List<StudentChange>> listener) {
+        return service.getChanges().subscribe(resultExecutor, listener);
+    }
+
+    /**
+     * Runs work on a virtual thread. Cancelling the returned future interrupts the work
+     * and drops its result.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                T value = work.call();
+                resultExecutor.execute(() -> result.complete(value));
+            } catch (Throwable t) {
+                resultExecutor.execute(() -> result.completeExceptionally(t));
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Like submit, but first cancels the still-running call that was started with the same key.
+     */
+    public <T> CompletableFuture<T> submitLatest(String key, Callable<T> work) {
+        CompletableFuture<T> result = submit(work);
+        CompletableFuture<?> previous = latestByKey.put(key, result);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        result.whenComplete((value, error) -> latestByKey.remove(key, result));
+        return result;
+    }
+
+    // ---- Reads ----
+
+    public CompletableFuture<List<Student>> fetchStudentsPage(SortColumn sortColumn, SortDirection direction,
+                                                              PageKey afterKey, int limit) {
+        return submitLatest("students-page", () -> service.fetchStudentsPage(sortColumn, direction, afterKey, limit));
+    }
+
+    public CompletableFuture<List<Student>> search(String query) {
+        return submitLatest("search", () -> service.search(query));
+    }
+
+    public CompletableFuture<List<Student>> searchAsYouType(String query) {
+        return submitLatest("search", () -> service.searchAsYouType(query));
+    }
+
+    public CompletableFuture<Void> loadInMemoryIndexes() {
+        return submit(() -> {
+            service.loadInMemoryIndexes();
+            return null;
+        });
+    }
+
+    public CompletableFuture<DashboardStats> getDashboardStats() {
+        return submitLatest("dashboard-stats", service::getDashboardStats);
+    }
+
+    public CompletableFuture<Long> countActive(double threshold) {
+        return submitLatest("count-active", () -> service.countActive(threshold));
+    }
+
+    public CompletableFuture<Long> countInactive(double threshold) {
+        return submitLatest("count-inactive", () -> service.countInactive(threshold));
+    }
+
+    public CompletableFuture<Double> getActiveThreshold() {
+        return submit(service::getActiveThreshold);
+    }
+
+    public CompletableFuture<Map<String, List<Student>>> generateAcademicReportData() {
+        return submitLatest("academic-report", service::generateAcademicReportData);
+    }
+
+    public CompletableFuture<List<GpaDistribution>> getGpaDistributions() {
+        return submitLatest("gpa-distributions", service::getGpaDistributions);
+    }
+
+    public CompletableFuture<List<Student>> getTopPerformers(int limit, String programme, Integer level) {
+        return submit(() -> service.getTopPerformers(limit, programme, level));
+    }
+
+    public CompletableFuture<ConsistencyReport> checkDashboardConsistency() {
+        return submit(service::checkDashboardConsistency);
+    }
+
+    // ---- Writes ----
+
+    public CompletableFuture<Void> saveStudent(Student student) {
+        return submit(() -> {
+            service.saveStudent(student);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> updateStudent(Student student) {
+        return submit(() -> {
+            service.updateStudent(student);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> removeStudent(String studentId) {
+        return submit(() -> {
+            service.removeStudent(studentId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Integer> setActiveThreshold(double threshold) {
+        return submit(() -> service.setActiveThreshold(threshold));
+    }
+
+    public CompletableFuture<Long> exportToCSV(String filePath) {
+        return submit(() -> service.exportToCSV(filePath));
+    }
+
+    public CompletableFuture<Long> exportSnapshot(String filePath) {
+        return submit(() -> service.exportSnapshot(filePath));
+    }
+
+    public CompletableFuture<Long> restoreSnapshot(String filePath) {
+        return submit(() -> service.restoreSnapshot(filePath));
+    }
+
+    public CompletableFuture<Void> repairDashboardTotals() {
+        return submit(() -> {
+            service.repairDashboardTotals();
+            return null;
+        });
+    }
+
+    /**
+     * True when a call failed only because a newer call superseded it; such failures need no error message.
+     */
+    public static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+
+    // Dependent stages wrap failures in CompletionException; show the user the original message
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
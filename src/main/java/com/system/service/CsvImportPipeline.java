@@ -0,0 +1,437 @@
+package com.system.service;
+
+import com.system.domain.ImportProgress;
+import com.system.domain.Student;
+import com.system.domain.WriteResult;
+import com.system.metrics.LatencyTimer;
+import com.system.metrics.MetricsRegistry;
+import com.system.metrics.jfr.CsvStageEvent;
+import com.system.util.CsvColumnMapping;
+import com.system.util.MappedCsvReader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requirement 5.2: Import students from a CSV file, built for very large files.
+ *
+ * The import runs as two stages connected by a bounded queue. The file is memory mapped and
+ * parsed in row-aligned chunks on a fork/join pool (MappedCsvReader), where the parsing workers
+ * also validate; a single writer inserts the valid rows through the batch API, one transaction
+ * per batch. Because the queue is bounded, memory use does not grow with the file size.
+ * Columns are matched by header name unless a mapping is set (see CsvColumnMapping).
+ *
+ * Rows that fail parsing, validation or the insert are written to a "rejected rows" report
+ * next to the source file. Batches already written stay in the database when the import is cancelled.
+ * A pipeline instance runs a single import.
+ */
+public class CsvImportPipeline {
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(ImportProgress progress);
+    }
+
+    private static final int ROWS_PER_BATCH = 1_000;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long POLL_MILLIS = 50;
+
+    private final StudentService service;
+    private final StudentValidator validator;
+    private final MetricsRegistry metrics;
+    private int workerCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+    private int queueCapacity = 8;
+    private int writeBatchSize = 5_000;
+    private int chunkSize = 8 << 20;
+    private CsvColumnMapping columnMapping;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+    private long totalBytes;
+    private long startNanos;
+    private long lastReportNanos;
+    private RejectedRowsReport rejectedReport;
+    private String sourceFile;
+    // Rows rejected by the insert are read back from the file for the report
+    private FileChannel source;
+
+    public CsvImportPipeline(StudentService service) {
+        this.service = service;
+        this.validator = service.getValidator();
+        this.metrics = service.getMetrics();
+    }
+
+    public void setWorkerCount(int workerCount) { this.workerCount = Math.max(1, workerCount); }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = Math.max(1, queueCapacity); }
+    public void setWriteBatchSize(int writeBatchSize) { this.writeBatchSize = Math.max(1, writeBatchSize); }
+    public void setChunkSize(int chunkSize) { this.chunkSize = Math.max(1, chunkSize); }
+    // Overrides the mapping read from the header
+    public void setColumnMapping(CsvColumnMapping columnMapping) { this.columnMapping = columnMapping; }
+
+    /**
+     * Asks all stages to stop. Safe to call from any thread, including the JavaFX thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Location of the rejected rows report for a source file: "students.csv" -> "students.rejected.csv".
+     * The report is only created when at least one row is rejected.
+     */
+    public static Path rejectedReportPath(Path csv) {
+        String name = csv.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return csv.resolveSibling(base + ".rejected.csv");
+    }
+
+    /**
+     * Runs the import on background threads and blocks until it has finished or was cancelled.
+     * The listener is called from a pipeline thread, at most every 100 ms, plus once at the end.
+     * If a stage fails, its exception is rethrown once the import has stopped.
+     */
+    public ImportProgress run(Path csv, ProgressListener listener) throws Exception {
+        if (runs.getAndIncrement() > 0) {
+            throw new IllegalStateException("A CsvImportPipeline can only run once.");
+        }
+        totalBytes = Files.size(csv);
+        sourceFile = csv.toString();
+        CsvStageEvent importEvent = new CsvStageEvent();
+        importEvent.begin();
+        startNanos = System.nanoTime();
+        lastReportNanos = startNanos;
+        rejectedReport = new RejectedRowsReport(rejectedReportPath(csv));
+
+        BlockingQueue<List<ParsedRow>> validRows = new ArrayBlockingQueue<>(queueCapacity);
+
+        ExecutorService threads = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ForkJoinPool parsers = new ForkJoinPool(workerCount, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("csv-import-parse-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        source = FileChannel.open(csv, StandardOpenOption.READ);
+        try {
+            List<Future<?>> stages = new ArrayList<>();
+            stages.add(threads.submit(stage(() -> parseChunks(csv, parsers, validRows))));
+            stages.add(threads.submit(stage(() -> writeRows(validRows, listener))));
+
+            for (Future<?> stage : stages) {
+                try {
+                    stage.get();
+                } catch (ExecutionException ignored) {
+                    // Stage failures are recorded in 'failure' by stage()
+                }
+            }
+        } finally {
+            threads.shutdownNow();
+            parsers.shutdownNow();
+            source.close();
+            rejectedReport.close();
+        }
+
+        LatencyTimer importTimer = metrics.timer("csv.import");
+        importTimer.recordSince(startNanos);
+        recordStage(importEvent, "import", rowsRead.get(), rowsRejected.get(), bytesRead.get());
+        metrics.counter("csv.import.rowsRead").add(rowsRead.get());
+        metrics.counter("csv.import.rowsWritten").add(rowsWritten.get());
+        metrics.counter("csv.import.rowsRejected").add(rowsRejected.get());
+        if (failure != null) {
+            importTimer.recordFailure();
+            // Passed on as it is; the caller says what failed when it reports the message
+            if (failure instanceof Exception e) {
+                throw e;
+            }
+            throw new Exception(failure.toString(), failure);
+        }
+        ImportProgress result = snapshot(true);
+        if (listener != null) {
+            listener.onProgress(result);
+        }
+        return result;
+    }
+
+    public ImportProgress getProgress() {
+        return snapshot(false);
+    }
+
+    /**
+     * Rejected rows report of the last run, or null when every row was imported.
+     */
+    public Path getRejectedReport() {
+        return rejectedReport != null && rejectedReport.isCreated() ? rejectedReport.path : null;
+    }
+
+    // ---- Stage 1: chunk-parallel parse + validate ----
+
+    private void parseChunks(Path csv, ForkJoinPool parsers, BlockingQueue<List<ParsedRow>> out) throws Exception {
+        try {
+            MappedCsvReader reader = new MappedCsvReader(parsers);
+            reader.setChunkSize(chunkSize);
+            CsvColumnMapping mapping = columnMapping != null ? columnMapping : CsvColumnMapping.fromHeader(reader.readHeader(csv));
+            reader.read(csv, chunk -> parseChunk(chunk, mapping, out));
+            if (!stopped()) {
+                bytesRead.set(totalBytes); // Including the header, which no chunk counts
+            }
+        } finally {
+            put(out, ParsedRow.END);
+        }
+    }
+
+    // Runs on a parser thread, once per chunk; hands the valid rows on in batches
+    private void parseChunk(MappedCsvReader.Chunk chunk, CsvColumnMapping mapping, BlockingQueue<List<ParsedRow>> out) throws Exception {
+        LatencyTimer batchTimer = metrics.timer("csv.import.parseBatch");
+        long counted = 0;
+        while (!stopped()) {
+            long batchStart = System.nanoTime();
+            CsvStageEvent event = new CsvStageEvent();
+            event.begin();
+            int parsed = 0;
+            List<ParsedRow> valid = new ArrayList<>(ROWS_PER_BATCH);
+            while (parsed < ROWS_PER_BATCH && chunk.nextRow()) {
+                parsed++;
+                try {
+                    Student student = mapping.toStudent(chunk);
+                    // Messages (and the row text) are only built for the rows that are rejected
+                    int errors = validator.validate(student);
+                    if (errors == 0) {
+                        valid.add(new ParsedRow(chunk.lineNumber(), chunk.rowOffset(), chunk.rowLength(), student));
+                    } else {
+                        reject(chunk.lineNumber(), ValidationError.describe(errors, " "), chunk.rowText());
+                    }
+                } catch (IllegalArgumentException e) {
+                    reject(chunk.lineNumber(), "Malformed row: " + e.getMessage(), chunk.rowText());
+                }
+            }
+            if (parsed == 0) {
+                return;
+            }
+            rowsRead.addAndGet(parsed);
+            bytesRead.addAndGet(chunk.bytesRead() - counted);
+            counted = chunk.bytesRead();
+            batchTimer.recordSince(batchStart);
+            recordStage(event, "parse", parsed, parsed - valid.size(), 0);
+            if (!valid.isEmpty() && !put(out, valid)) {
+                return;
+            }
+        }
+    }
+
+    // ---- Stage 2: batched transactional writer ----
+
+    private void writeRows(BlockingQueue<List<ParsedRow>> in, ProgressListener listener) throws Exception {
+        List<ParsedRow> pending = new ArrayList<>(writeBatchSize);
+        while (true) {
+            List<ParsedRow> rows = take(in);
+            if (rows == null) {
+                return;
+            }
+            if (rows == ParsedRow.END) {
+                break;
+            }
+            pending.addAll(rows);
+            if (pending.size() >= writeBatchSize) {
+                flush(pending);
+                pending = new ArrayList<>(writeBatchSize);
+            }
+            reportProgress(listener);
+        }
+        if (!stopped()) {
+            flush(pending);
+        }
+    }
+
+    private void flush(List<ParsedRow> rows) throws Exception {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Student> students = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            students.add(row.student);
+        }
+        CsvStageEvent event = new CsvStageEvent();
+        event.begin();
+        List<WriteResult> results = metrics.timer("csv.import.writeBatch").time(() -> service.persistValidated(students));
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        recordStage(event, "write", students.size() - failed, failed, 0);
+        for (int i = 0; i < results.size(); i++) {
+            WriteResult result = results.get(i);
+            if (result.isSuccess()) {
+                rowsWritten.incrementAndGet();
+            } else {
+                ParsedRow row = rows.get(i);
+                reject(row.lineNumber, result.getMessage(), rawRow(row));
+            }
+        }
+    }
+
+    // ---- Helpers ----
+
+    private void recordStage(CsvStageEvent event, String stage, long rows, long rejected, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage;
+            event.file = sourceFile;
+            event.rows = rows;
+            event.rejected = rejected;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private String rawRow(ParsedRow row) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(row.length);
+        while (bytes.hasRemaining() && source.read(bytes, row.offset + bytes.position()) >= 0) {
+            // Positional reads, so this is safe while the parsers still map the same file
+        }
+        return new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8);
+    }
+
+    private void reject(long lineNumber, String reason, String raw) throws IOException {
+        rowsRejected.incrementAndGet();
+        rejectedReport.write(lineNumber, reason, raw);
+    }
+
+    private void reportProgress(ProgressListener listener) {
+        long now = System.nanoTime();
+        if (listener != null && now - lastReportNanos >= PROGRESS_INTERVAL_NANOS) {
+            lastReportNanos = now;
+            listener.onProgress(snapshot(false));
+        }
+    }
+
+    private ImportProgress snapshot(boolean finished) {
+        return new ImportProgress(bytesRead.get(), totalBytes, rowsRead.get(), rowsWritten.get(),
+                rowsRejected.get(), System.nanoTime() - startNanos, finished, cancelled);
+    }
+
+    private boolean stopped() {
+        return cancelled || failure != null;
+    }
+
+    // Bounded put that gives up when the import is stopped, so no stage can block forever
+    private <T> boolean put(BlockingQueue<T> queue, T item) throws InterruptedException {
+        while (!stopped()) {
+            if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns null when the import is stopped
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        while (!stopped()) {
+            T item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private Runnable stage(StageBody body) {
+        return () -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface StageBody {
+        void run() throws Exception;
+    }
+
+    private static final class ParsedRow {
+        static final List<ParsedRow> END = new ArrayList<>(0);
+
+        final long lineNumber;
+        // Where the row's text is in the file, instead of a String per row
+        final long offset;
+        final int length;
+        final Student student;
+
+        ParsedRow(long lineNumber, long offset, int length, Student student) {
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            this.length = length;
+            this.student = student;
+        }
+    }
+
+    /**
+     * CSV file listing every rejected row with its line number and the reason.
+     * Opened on the first rejection; shared by all stages.
+     */
+    private static final class RejectedRowsReport {
+        private final Path path;
+        private BufferedWriter writer;
+
+        RejectedRowsReport(Path path) {
+            this.path = path;
+        }
+
+        synchronized void write(long lineNumber, String reason, String raw) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("Line,Reason,Row");
+                writer.newLine();
+            }
+            writer.write(Long.toString(lineNumber));
+            writer.write(',');
+            writer.write(quote(reason));
+            writer.write(',');
+            writer.write(quote(raw));
+            writer.newLine();
+        }
+
+        synchronized boolean isCreated() {
+            return writer != null;
+        }
+
+        synchronized void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+
+        private static String quote(String value) {
+            return "\"" + (value == null ? "" : value.replace("\"", "\"\"")) + "\"";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.system.service;
+
+import com.system.domain.GpaDistribution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * GPA distribution per programme and level, computed in parallel over a StudentColumns snapshot.
+ *
+ * The rows are split into ranges with fork/join. Each range fills one accumulator per group, and
+ * accumulators of sibling ranges are merged on the way back up, so the work scales with the
+ * number of cores and no thread ever shares a mutable accumulator.
+ */
+public class GpaAnalytics {
+    // Ranges smaller than this are summed by a single task
+    private static final int MIN_RANGE = 16_384;
+
+    private final ForkJoinPool pool;
+
+    public GpaAnalytics() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public GpaAnalytics(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * One entry per programme and level that has students, ordered by programme then level.
+     */
+    public List<GpaDistribution> distributions(StudentColumns columns) {
+        return columns.read(view -> {
+            Map<Integer, Accumulator> groups = pool.invoke(new RangeTask(view, 0, view.rows()));
+            List<GpaDistribution> result = new ArrayList<>(groups.size());
+            for (Map.Entry<Integer, Accumulator> group : groups.entrySet()) {
+                short programmeCode = (short) (group.getKey() >> 16);
+                int level = (short) group.getKey().intValue();
+                result.add(group.getValue().toDistribution(view.programmeName(programmeCode), level));
+            }
+            result.sort(Comparator.comparing((GpaDistribution d) -> d.getProgramme() == null ? "" : d.getProgramme())
+                    .thenComparingInt(GpaDistribution::getLevel));
+            return result;
+        });
+    }
+
+    // Programme code in the high half, level in the low half
+    private static int groupKey(short programme, short level) {
+        return (programme << 16) | (level & 0xFFFF);
+    }
+
+    // Never serialized; ForkJoinTask is Serializable only by inheritance
+    private static final class RangeTask extends RecursiveTask<Map<Integer, Accumulator>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StudentColumns.View view;
+        private final int from;
+        private final int to;
+
+        RangeTask(StudentColumns.View view, int from, int to) {
+            this.view = view;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Integer, Accumulator> compute() {
+            if (to - from <= MIN_RANGE) {
+                return accumulate();
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(view, from, middle);
+            left.fork();
+            Map<Integer, Accumulator> right = new RangeTask(view, middle, to).compute();
+            Map<Integer, Accumulator> merged = left.join();
+            right.forEach((key, accumulator) -> merged.merge(key, accumulator, Accumulator::merge));
+            return merged;
+        }
+
+        private Map<Integer, Accumulator> accumulate() {
+            double[] gpa = view.gpa();
+            short[] level = view.level();
+            short[] programme = view.programme();
+            Map<Integer, Accumulator> groups = new HashMap<>();
+            // Rows of one group tend to be stored together, so remember the last group instead of hashing every row
+            int lastKey = 0;
+            Accumulator last = null;
+            for (int row = from; row < to; row++) {
+                int key = groupKey(programme[row], level[row]);
+                if (last == null || key != lastKey) {
+                    last = groups.computeIfAbsent(key, k -> new Accumulator());
+                    lastKey = key;
+                }
+                last.add(gpa[row]);
+            }
+            return groups;
+        }
+    }
+
+    /**
+     * Mergeable GPA statistics: count, mean and sum of squared deviations (combined with
+     * Chan's parallel formula, which stays accurate where sum-of-squares would not),
+     * min, max, and a 0.01-step histogram for the percentiles.
+     */
+    static final class Accumulator {
+        private long count;
+        private double mean;
+        private double m2;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private final long[] buckets = new long[GpaHistogram.BUCKETS];
+
+        void add(double gpa) {
+            count++;
+            double delta = gpa - mean;
+            mean += delta / count;
+            m2 += delta * (gpa - mean);
+            min = Math.min(min, gpa);
+            max = Math.max(max, gpa);
+            buckets[GpaHistogram.bucketOf(gpa)]++;
+        }
+
+        Accumulator merge(Accumulator other) {
+            if (other.count == 0) {
+                return this;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+            mean += delta * other.count / total;
+            count = total;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+            return this;
+        }
+
+        // Nearest rank: the smallest GPA with at least fraction * count students at or below it
+        double percentile(double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= rank) {
+                    return bucket / 100.0;
+                }
+            }
+            return max;
+        }
+
+        GpaDistribution toDistribution(String programme, int level) {
+            // Population standard deviation: the group is every student, not a sample
+            double standardDeviation = count == 0 ? 0 : Math.sqrt(m2 / count);
+            return new GpaDistribution(programme, level, count, mean, min, max, standardDeviation,
+                    percentile(0.10), percentile(0.50), percentile(0.90));
+        }
+    }
+}
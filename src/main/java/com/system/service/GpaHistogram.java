@@ -0,0 +1,72 @@
+package com.system.service;
+
+/**
+ * Student counts per 0.01 GPA step (0.00 - 4.00), stored as a Fenwick (binary indexed) tree.
+ *
+ * Counting the students at or above any threshold is a prefix sum, so it takes O(log 401)
+ * steps instead of a scan over all students. A GPA is put in the bucket of its value rounded
+ * down to two decimals, which makes counts exact for thresholds with up to two decimals.
+ */
+public class GpaHistogram {
+    public static final int BUCKETS = 401;
+
+    // 1-based Fenwick tree: tree[i] covers a power-of-two sized range of buckets ending at i - 1
+    private final long[] tree = new long[BUCKETS + 1];
+    private long total;
+
+    public static GpaHistogram fromCounts(long[] counts) {
+        GpaHistogram histogram = new GpaHistogram();
+        for (int bucket = 0; bucket < counts.length && bucket < BUCKETS; bucket++) {
+            if (counts[bucket] != 0) {
+                histogram.add(bucket, counts[bucket]);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Bucket for a GPA: its value in hundredths, rounded down and clamped to 0 - 400.
+     * The small epsilon keeps values such as 2.3 (stored as 2.2999999...) in bucket 230.
+     */
+    public static int bucketOf(double gpa) {
+        int bucket = (int) Math.floor(gpa * 100 + 1e-9);
+        return Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+
+    public void add(int bucket, long delta) {
+        total += delta;
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // Students with gpa >= threshold
+    public long countAtLeast(double threshold) {
+        int firstBucket = (int) Math.ceil(threshold * 100 - 1e-9);
+        if (firstBucket <= 0) {
+            return total;
+        }
+        if (firstBucket >= BUCKETS) {
+            return 0;
+        }
+        return total - prefixSum(firstBucket - 1);
+    }
+
+    // Students with gpa < threshold
+    public long countBelow(double threshold) {
+        return total - countAtLeast(threshold);
+    }
+
+    // Sum of buckets 0..bucket (inclusive)
+    private long prefixSum(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
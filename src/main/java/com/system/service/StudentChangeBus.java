@@ -0,0 +1,95 @@
+package com.system.service;
+
+import com.system.domain.StudentChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the writes StudentService commits, so open views can apply them without re-querying.
+ *
+ * Every subscription has its own queue and delivery executor. Changes published while a delivery
+ * is still waiting to run join that delivery, so with Platform::runLater as the executor a burst
+ * of writes (a CSV import batch, several quick edits) reaches the view as one list in one pulse.
+ * Within a list, changes are in the order they were published; StudentService publishes row
+ * writes while holding its write-order lock, so that is their commit order.
+ */
+public class StudentChangeBus {
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public Subscription subscribe(Executor executor, Consumer<List<StudentChange>> listener) {
+        Subscription subscription = new Subscription(executor, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void publish(StudentChange change) {
+        publishAll(List.of(change));
+    }
+
+    public void publishAll(List<StudentChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(changes);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Executor executor;
+        private final Consumer<List<StudentChange>> listener;
+        // Guarded by this
+        private List<StudentChange> pending = new ArrayList<>();
+        private boolean scheduled;
+        private volatile boolean closed;
+
+        private Subscription(Executor executor, Consumer<List<StudentChange>> listener) {
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        private void offer(List<StudentChange> changes) {
+            synchronized (this) {
+                pending.addAll(changes);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            executor.execute(this::deliver);
+        }
+
+        private void deliver() {
+            List<StudentChange> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<>();
+                scheduled = false;
+            }
+            if (closed) {
+                return;
+            }
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                // One failing view must not stop the others from receiving later changes
+                System.err.println("Change listener failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+}
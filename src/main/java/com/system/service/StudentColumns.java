@@ -0,0 +1,479 @@
+package com.system.service;
+
+import com.system.domain.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the fields analytics need, one primitive array per column.
+ *
+ * Programme and status are dictionary encoded (a short code per row, one String per distinct value),
+ * and the date added is kept as epoch seconds. Student IDs are stored as UTF-8 bytes in one shared
+ * array with an open-addressing hash table for lookups, so there is no String or map entry per row.
+ * Aggregations loop over the arrays instead of chasing Student objects, which keeps them
+ * cache friendly and avoids boxing.
+ *
+ * Rows are dense: deleting a student moves the last row into the freed position, so row
+ * numbers are not stable and must not be kept across calls.
+ *
+ * Filled like StudentSearchIndex: load() during the initial scan, put()/remove() for writes,
+ * where a write always wins over a row the scan reads later.
+ */
+public class StudentColumns {
+    public static final long NO_DATE = Long.MIN_VALUE;
+    public static final short NO_CODE = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IdColumn ids = new IdColumn();
+    private double[] gpa = new double[1024];
+    private short[] level = new short[1024];
+    private short[] programme = new short[1024];
+    private short[] status = new short[1024];
+    private long[] dateAdded = new long[1024];
+    private int rows;
+
+    private final Dictionary programmes = new Dictionary();
+    private final Dictionary statuses = new Dictionary();
+
+    private Set<String> writtenDuringLoad = new HashSet<>();
+    // Set when the threshold changes during the initial scan, which may still return statuses from before
+    private double thresholdDuringLoad = Double.NaN;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void load(Student student) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null && writtenDuringLoad.contains(student.getStudentId())) {
+                return;
+            }
+            int row = putLocked(student);
+            if (!Double.isNaN(thresholdDuringLoad)) {
+                status[row] = statuses.codeOf(Student.statusFor(gpa[row], thresholdDuringLoad));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringLoad = null;
+            thresholdDuringLoad = Double.NaN;
+            ready = true;
+            // The arrays doubled while loading; keep only a little room for new students
+            grow(Math.max(1024, rows + rows / 8));
+            ids.trim();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds a student or overwrites the row of an existing one
+    public void put(Student student) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.add(student.getStudentId());
+            }
+            putLocked(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String studentId) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.add(studentId);
+            }
+            int row = ids.find(studentId);
+            if (row < 0) {
+                return;
+            }
+            ids.remove(row);
+            int last = --rows;
+            if (row != last) {
+                gpa[row] = gpa[last];
+                level[row] = level[last];
+                programme[row] = programme[last];
+                status[row] = status[last];
+                dateAdded[row] = dateAdded[last];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-derives the status of every row from its GPA, the in-memory side of
+     * StudentRepository.applyActiveThreshold.
+     */
+    public void applyActiveThreshold(double threshold) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null) {
+                thresholdDuringLoad = threshold;
+            }
+            short active = statuses.codeOf(Student.ACTIVE);
+            short inactive = statuses.codeOf(Student.INACTIVE);
+            for (int row = 0; row < rows; row++) {
+                status[row] = gpa[row] >= threshold ? active : inactive;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the limit students with the highest GPA, best first.
+     * programme and level narrow the candidates (null means any); rows are filtered by
+     * comparing dictionary codes, and the best rows are kept in a bounded min-heap of row numbers.
+     */
+    public List<String> topByGpa(int limit, String programmeName, Integer levelFilter) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            short programmeFilter = NO_CODE;
+            if (programmeName != null) {
+                programmeFilter = programmes.find(programmeName);
+                if (programmeFilter == NO_CODE) {
+                    return List.of();
+                }
+            }
+
+            // heap[0] is the weakest of the best rows seen so far
+            int[] heap = new int[Math.min(limit, Math.max(rows, 1))];
+            int heapSize = 0;
+            for (int row = 0; row < rows; row++) {
+                if (programmeName != null && programme[row] != programmeFilter) {
+                    continue;
+                }
+                if (levelFilter != null && level[row] != levelFilter) {
+                    continue;
+                }
+                if (heapSize < heap.length) {
+                    heap[heapSize] = row;
+                    siftUp(heap, heapSize++);
+                } else if (gpa[row] > gpa[heap[0]]) {
+                    heap[0] = row;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            // Pop the weakest first and fill from the back to get best-first order
+            String[] best = new String[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                best[i] = ids.get(heap[0]);
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize);
+            }
+            return Arrays.asList(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an analysis over the raw columns while holding the read lock, so no write can change
+     * them until it returns. The arrays are only valid for rows 0 .. rows() - 1 and only during the call;
+     * the reader may hand them to other threads as long as it waits for them before returning.
+     */
+    public <T> T read(ColumnReader<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.read(new View());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ColumnReader<T> {
+        T read(View columns);
+    }
+
+    // Read-only access to the columns for a ColumnReader
+    public final class View {
+        public int rows() { return rows; }
+        public double[] gpa() { return gpa; }
+        public short[] level() { return level; }
+        public short[] programme() { return programme; }
+        public short[] status() { return status; }
+        public long[] dateAdded() { return dateAdded; }
+        public String studentId(int row) { return ids.get(row); }
+        public String programmeName(short code) { return programmes.name(code); }
+        public String statusName(short code) { return statuses.name(code); }
+    }
+
+    // ---- Internals ----
+
+    // Returns the row the student is stored in
+    private int putLocked(Student student) {
+        int row = ids.find(student.getStudentId());
+        if (row < 0) {
+            row = rows++;
+            if (row == gpa.length) {
+                grow(row * 2);
+            }
+            ids.add(row, student.getStudentId());
+        }
+        gpa[row] = student.getGpa();
+        level[row] = (short) student.getLevel();
+        programme[row] = programmes.codeOf(student.getProgramme());
+        status[row] = statuses.codeOf(student.getStatus());
+        // Stored without a zone, so the local date-time is encoded as if it were UTC
+        LocalDateTime added = student.getDateAdded();
+        dateAdded[row] = added == null ? NO_DATE : added.toEpochSecond(ZoneOffset.UTC);
+        return row;
+    }
+
+    private void grow(int capacity) {
+        gpa = Arrays.copyOf(gpa, capacity);
+        level = Arrays.copyOf(level, capacity);
+        programme = Arrays.copyOf(programme, capacity);
+        status = Arrays.copyOf(status, capacity);
+        dateAdded = Arrays.copyOf(dateAdded, capacity);
+    }
+
+    private void siftUp(int[] heap, int at) {
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (gpa[heap[at]] >= gpa[heap[parent]]) {
+                return;
+            }
+            swap(heap, at, parent);
+            at = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size) {
+        int at = 0;
+        while (true) {
+            int smallest = at;
+            int left = 2 * at + 1;
+            int right = left + 1;
+            if (left < size && gpa[heap[left]] < gpa[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && gpa[heap[right]] < gpa[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == at) {
+                return;
+            }
+            swap(heap, at, smallest);
+            at = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    /**
+     * Student IDs of all rows: UTF-8 bytes appended to one arena, plus a linear-probing hash table
+     * from ID to row. Removed IDs leave garbage in the arena until it is compacted.
+     */
+    private static final class IdColumn {
+        private byte[] arena = new byte[16 * 1024];
+        private int arenaUsed;
+        private int arenaGarbage;
+        private int[] start = new int[1024];
+        private short[] length = new short[1024];
+        private int rows;
+        // Row + 1 per slot, 0 for an empty slot; kept at most half full
+        private int[] table = new int[2048];
+
+        int find(String studentId) {
+            byte[] key = studentId.getBytes(StandardCharsets.UTF_8);
+            int mask = table.length - 1;
+            for (int i = hash(key, 0, key.length) & mask; table[i] != 0; i = (i + 1) & mask) {
+                int row = table[i] - 1;
+                if (Arrays.equals(arena, start[row], start[row] + length[row], key, 0, key.length)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        String get(int row) {
+            return new String(arena, start[row], length[row], StandardCharsets.UTF_8);
+        }
+
+        // Appends the ID of a new row; row must be the next free row number
+        void add(int row, String studentId) {
+            byte[] key = studentId.getBytes(StandardCharsets.UTF_8);
+            if (row == start.length) {
+                start = Arrays.copyOf(start, row * 2);
+                length = Arrays.copyOf(length, row * 2);
+            }
+            if (arenaUsed + key.length > arena.length) {
+                if (arenaGarbage > arenaUsed / 2) {
+                    compactArena();
+                }
+                if (arenaUsed + key.length > arena.length) {
+                    arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + key.length));
+                }
+            }
+            System.arraycopy(key, 0, arena, arenaUsed, key.length);
+            start[row] = arenaUsed;
+            length[row] = (short) key.length;
+            arenaUsed += key.length;
+            rows = row + 1;
+
+            if (rows * 2 > table.length) {
+                rehash(table.length * 2);
+            } else {
+                insert(row);
+            }
+        }
+
+        // Drops a row; like the other columns, the last row moves into its place
+        void remove(int row) {
+            unlink(row);
+            int last = --rows;
+            if (row != last) {
+                table[slotOf(last)] = row + 1;
+                start[row] = start[last];
+                length[row] = length[last];
+            }
+        }
+
+        void trim() {
+            compactArena();
+            arena = Arrays.copyOf(arena, Math.max(1024, arenaUsed + arenaUsed / 8));
+            start = Arrays.copyOf(start, Math.max(1024, rows + rows / 8));
+            length = Arrays.copyOf(length, start.length);
+        }
+
+        // Takes the row out of the hash table; its bytes become garbage
+        private void unlink(int row) {
+            int mask = table.length - 1;
+            int i = slotOf(row);
+            table[i] = 0;
+            arenaGarbage += length[row];
+            // Backward-shift deletion: move later entries of the probe run into the gap
+            for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+                int home = homeSlot(table[j] - 1);
+                boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+                if (movable) {
+                    table[i] = table[j];
+                    table[j] = 0;
+                    i = j;
+                }
+            }
+        }
+
+        private int slotOf(int row) {
+            int mask = table.length - 1;
+            int i = homeSlot(row);
+            while (table[i] != row + 1) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private int homeSlot(int row) {
+            return hash(arena, start[row], start[row] + length[row]) & (table.length - 1);
+        }
+
+        private void insert(int row) {
+            int mask = table.length - 1;
+            int i = homeSlot(row);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = row + 1;
+        }
+
+        private void rehash(int capacity) {
+            table = new int[capacity];
+            for (int row = 0; row < rows; row++) {
+                insert(row);
+            }
+        }
+
+        // Copies the live IDs to a fresh arena in row order
+        private void compactArena() {
+            byte[] fresh = new byte[Math.max(arena.length, arenaUsed - arenaGarbage)];
+            int used = 0;
+            for (int row = 0; row < rows; row++) {
+                System.arraycopy(arena, start[row], fresh, used, length[row]);
+                start[row] = used;
+                used += length[row];
+            }
+            arena = fresh;
+            arenaUsed = used;
+            arenaGarbage = 0;
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int h = 0x811C9DC5;
+            for (int i = from; i < to; i++) {
+                h = (h ^ bytes[i]) * 0x01000193;
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // Distinct string values and their short codes; null is stored as NO_CODE
+    private static final class Dictionary {
+        private final Map<String, Short> codes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        short codeOf(String name) {
+            if (name == null) {
+                return NO_CODE;
+            }
+            Short code = codes.get(name);
+            if (code == null) {
+                if (names.size() == Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct values for a column dictionary: " + name);
+                }
+                code = (short) names.size();
+                codes.put(name, code);
+                names.add(name);
+            }
+            return code;
+        }
+
+        short find(String name) {
+            Short code = name == null ? null : codes.get(name);
+            return code == null ? NO_CODE : code;
+        }
+
+        String name(short code) {
+            return code == NO_CODE ? null : names.get(code);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.system.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory type-ahead index over student IDs and names.
+ *
+ * Two structures answer a query word:
+ * - a burst trie over the lower-cased ID and every word of the name, for prefix matches;
+ * - a trigram index (three-character fragment to sorted slot list) over ID and name, for substring matches.
+ * Prefix matches come first, then substring matches. Both stop once enough results are found,
+ * so a keystroke costs about O(limit) instead of O(students).
+ *
+ * Every student gets a slot number. Updating or removing a student only marks its old slot dead;
+ * the index is rebuilt in place when dead slots outnumber live ones.
+ *
+ * The index is filled in two ways: load() for the initial scan of the table, and put()/remove()
+ * for writes made through the service. A write always wins over a row the scan reads later,
+ * so writes can run while the initial load is still in progress.
+ */
+public class StudentSearchIndex {
+    // A trie leaf holds up to this many distinct terms before it is split by the next character
+    private static final int BURST_SIZE = 64;
+    private static final int MIN_COMPACT_SLOTS = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private String[] ids = new String[1024];
+    private String[] names = new String[1024];
+    private int slotCount;
+    private final BitSet dead = new BitSet();
+    private int deadCount;
+    private final Map<String, Integer> slotById = new HashMap<>();
+
+    private TrieNode trie = new TrieNode(0);
+    private TrigramTable trigrams = new TrigramTable();
+
+    // IDs written while the initial load runs; the scan must not overwrite them with older data
+    private Set<String> writtenDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a row read by the initial scan, unless a write for the same student already happened.
+     */
+    public void load(String studentId, String fullName) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null && writtenDuringLoad.contains(studentId)) {
+                return;
+            }
+            putLocked(studentId, fullName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called once the initial scan is complete; from now on searches are served from memory
+    public void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a student or replaces the indexed ID and name of an existing one.
+     */
+    public void put(String studentId, String fullName) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.add(studentId);
+            }
+            putLocked(studentId, fullName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String studentId) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.add(studentId);
+            }
+            Integer slot = slotById.remove(studentId);
+            if (slot != null) {
+                kill(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of up to limit students that match every word of the query.
+     * A word matches when it is a prefix of the ID or of a name word, or (from three characters on)
+     * when it occurs anywhere in the ID or name. Matching ignores case.
+     */
+    public List<String> search(String query, int limit) {
+        String[] words = query == null ? new String[0] : query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (words.length == 0 || words[0].isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Drive the lookup with the longest word (usually the most selective), verify the others per row
+        String lead = Arrays.stream(words).max(Comparator.comparingInt(String::length)).get();
+
+        lock.readLock().lock();
+        try {
+            List<String> results = new ArrayList<>(Math.min(limit, 256));
+            BitSet seen = new BitSet(slotCount);
+            IntPredicate collect = slot -> {
+                if (dead.get(slot) || seen.get(slot)) {
+                    return true;
+                }
+                seen.set(slot);
+                if (matchesAll(slot, words)) {
+                    results.add(ids[slot]);
+                }
+                return results.size() < limit;
+            };
+            if (visitPrefixMatches(lead, collect) && lead.length() >= 3) {
+                visitSubstringMatches(lead, collect);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Slots ----
+
+    private void putLocked(String studentId, String fullName) {
+        Integer existing = slotById.get(studentId);
+        if (existing != null) {
+            if (equalsNullable(names[existing], fullName)) {
+                return;
+            }
+            kill(existing);
+        }
+
+        int slot = slotCount++;
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+            names = Arrays.copyOf(names, slot * 2);
+        }
+        ids[slot] = studentId;
+        names[slot] = fullName;
+        slotById.put(studentId, slot);
+
+        String id = studentId.toLowerCase(Locale.ROOT);
+        String name = fullName == null ? "" : fullName.toLowerCase(Locale.ROOT);
+        insertTerm(id, slot);
+        // Name words, split on whitespace without going through a regex
+        int wordStart = -1;
+        for (int i = 0; i <= name.length(); i++) {
+            boolean space = i == name.length() || Character.isWhitespace(name.charAt(i));
+            if (space && wordStart >= 0) {
+                insertTerm(name.substring(wordStart, i), slot);
+                wordStart = -1;
+            } else if (!space && wordStart < 0) {
+                wordStart = i;
+            }
+        }
+        addTrigrams(id, slot);
+        addTrigrams(name, slot);
+    }
+
+    private void kill(int slot) {
+        dead.set(slot);
+        deadCount++;
+        if (deadCount > MIN_COMPACT_SLOTS && deadCount > slotCount - deadCount) {
+            compact();
+        }
+    }
+
+    // Re-inserts the live rows into fresh structures so dead slots stop costing memory and search time
+    private void compact() {
+        String[] oldIds = ids;
+        String[] oldNames = names;
+        int oldCount = slotCount;
+        BitSet oldDead = (BitSet) dead.clone();
+
+        ids = new String[Math.max(1024, oldCount - deadCount)];
+        names = new String[ids.length];
+        slotCount = 0;
+        dead.clear();
+        deadCount = 0;
+        slotById.clear();
+        trie = new TrieNode(0);
+        trigrams = new TrigramTable();
+
+        for (int slot = 0; slot < oldCount; slot++) {
+            if (!oldDead.get(slot)) {
+                putLocked(oldIds[slot], oldNames[slot]);
+            }
+        }
+    }
+
+    private boolean matchesAll(int slot, String[] words) {
+        for (String word : words) {
+            if (!containsIgnoreCase(ids[slot], word) && !containsIgnoreCase(names[slot], word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String text, String lowerWord) {
+        if (text == null) {
+            return false;
+        }
+        int last = text.length() - lowerWord.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerWord, 0, lowerWord.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsNullable(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // ---- Trigrams ----
+
+    private void addTrigrams(String text, int slot) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            IntList slots = trigrams.getOrCreate(trigram(text, i));
+            // Slots are added in increasing order, so a repeated fragment of the same row is the last entry
+            if (slots.size == 0 || slots.last() != slot) {
+                slots.add(slot);
+            }
+        }
+    }
+
+    // Collisions between different fragments are harmless: every candidate is verified against the text
+    private static int trigram(String text, int at) {
+        return (text.charAt(at) * 31 + text.charAt(at + 1)) * 31 + text.charAt(at + 2);
+    }
+
+    private boolean visitSubstringMatches(String word, IntPredicate visitor) {
+        IntList[] lists = new IntList[word.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = trigrams.get(trigram(word, i));
+            if (lists[i] == null) {
+                return true;
+            }
+        }
+        // Walk the shortest list and probe the others
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        IntList shortest = lists[0];
+        for (int i = 0; i < shortest.size; i++) {
+            int slot = shortest.values[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length && inAll; j++) {
+                inAll = lists[j] == shortest || lists[j].contains(slot);
+            }
+            if (inAll && !visitor.test(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Burst trie ----
+
+    private void insertTerm(String term, int slot) {
+        TrieNode node = trie;
+        while (!node.isLeaf()) {
+            if (term.length() == node.depth) {
+                node.ending.add(slot);
+                return;
+            }
+            node = node.childFor(term.charAt(node.depth));
+        }
+        node.addToLeaf(term, slot);
+        if (node.termCount > BURST_SIZE) {
+            node.burst();
+        }
+    }
+
+    private boolean visitPrefixMatches(String prefix, IntPredicate visitor) {
+        TrieNode node = trie;
+        while (!node.isLeaf()) {
+            if (prefix.length() == node.depth) {
+                return node.visitAll(visitor);
+            }
+            node = node.child(prefix.charAt(node.depth));
+            if (node == null) {
+                return true;
+            }
+        }
+        // Terms in a leaf are sorted, so the matches form one run starting at the insertion point
+        int start = Arrays.binarySearch(node.terms, 0, node.termCount, prefix);
+        for (int i = start >= 0 ? start : -start - 1; i < node.termCount && node.terms[i].startsWith(prefix); i++) {
+            if (!node.postings[i].visit(visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class TrieNode {
+        final int depth;
+
+        // Leaf form: sorted distinct terms, each with the slots that contain it
+        String[] terms = new String[4];
+        IntList[] postings = new IntList[4];
+        int termCount;
+
+        // Inner form (after a burst): children by the character at this depth, plus terms that end here
+        char[] keys;
+        TrieNode[] children;
+        int childCount;
+        IntList ending;
+
+        TrieNode(int depth) {
+            this.depth = depth;
+        }
+
+        boolean isLeaf() {
+            return keys == null;
+        }
+
+        void addToLeaf(String term, int slot) {
+            int at = Arrays.binarySearch(terms, 0, termCount, term);
+            if (at >= 0) {
+                postings[at].add(slot);
+                return;
+            }
+            IntList slots = new IntList();
+            slots.add(slot);
+            insertAt(-at - 1, term, slots);
+        }
+
+        void insertAt(int at, String term, IntList slots) {
+            if (termCount == terms.length) {
+                terms = Arrays.copyOf(terms, termCount * 2);
+                postings = Arrays.copyOf(postings, termCount * 2);
+            }
+            System.arraycopy(terms, at, terms, at + 1, termCount - at);
+            System.arraycopy(postings, at, postings, at + 1, termCount - at);
+            terms[at] = term;
+            postings[at] = slots;
+            termCount++;
+        }
+
+        // Turns this leaf into an inner node; terms arrive in sorted order, so children stay sorted too
+        void burst() {
+            keys = new char[4];
+            children = new TrieNode[4];
+            ending = new IntList();
+            for (int i = 0; i < termCount; i++) {
+                if (terms[i].length() == depth) {
+                    ending = postings[i];
+                } else {
+                    TrieNode child = childFor(terms[i].charAt(depth));
+                    child.insertAt(child.termCount, terms[i], postings[i]);
+                }
+            }
+            terms = null;
+            postings = null;
+            termCount = 0;
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].termCount > BURST_SIZE) {
+                    children[i].burst();
+                }
+            }
+        }
+
+        TrieNode child(char key) {
+            int at = Arrays.binarySearch(keys, 0, childCount, key);
+            return at >= 0 ? children[at] : null;
+        }
+
+        TrieNode childFor(char key) {
+            int at = Arrays.binarySearch(keys, 0, childCount, key);
+            if (at >= 0) {
+                return children[at];
+            }
+            at = -at - 1;
+            if (childCount == keys.length) {
+                keys = Arrays.copyOf(keys, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            System.arraycopy(keys, at, keys, at + 1, childCount - at);
+            System.arraycopy(children, at, children, at + 1, childCount - at);
+            keys[at] = key;
+            children[at] = new TrieNode(depth + 1);
+            childCount++;
+            return children[at];
+        }
+
+        boolean visitAll(IntPredicate visitor) {
+            if (isLeaf()) {
+                for (int i = 0; i < termCount; i++) {
+                    if (!postings[i].visit(visitor)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (!ending.visit(visitor)) {
+                return false;
+            }
+            for (int i = 0; i < childCount; i++) {
+                if (!children[i].visitAll(visitor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Open-addressing map from trigram code to slot list; avoids boxing millions of keys while loading
+    private static final class TrigramTable {
+        int[] keys = new int[1 << 14];
+        IntList[] lists = new IntList[1 << 14];
+        int size;
+
+        IntList get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; lists[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return lists[i];
+                }
+            }
+            return null;
+        }
+
+        IntList getOrCreate(int key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            for (; lists[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return lists[i];
+                }
+            }
+            IntList list = new IntList();
+            keys[i] = key;
+            lists[i] = list;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return list;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            IntList[] oldLists = lists;
+            keys = new int[oldKeys.length * 2];
+            lists = new IntList[oldLists.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldLists[j] != null) {
+                    int i = mix(oldKeys[j]) & mask;
+                    while (lists[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    lists[i] = oldLists[j];
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // Growable, ascending list of slot numbers
+    private static final class IntList {
+        int[] values = new int[2];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        boolean visit(IntPredicate visitor) {
+            for (int i = 0; i < size; i++) {
+                if (!visitor.test(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
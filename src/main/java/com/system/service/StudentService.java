@@ -1,25 +1,83 @@
 package com.system.service;
 
+import com.system.domain.ConsistencyReport;
 import com.system.domain.DashboardStats;
+import com.system.domain.GpaDistribution;
 import com.system.domain.Student;
+import com.system.domain.StudentAggregates;
+import com.system.domain.StudentChange;
+import com.system.domain.WriteResult;
+import com.system.metrics.MetricsRegistry;
+import com.system.metrics.jfr.AggregationEvent;
+import com.system.metrics.jfr.CsvStageEvent;
+import com.system.repository.PageKey;
+import com.system.repository.SortColumn;
+import com.system.repository.SortDirection;
 import com.system.repository.StudentRepository;
-import javafx.fxml.FXML;
-import javafx.scene.control.Label;
+import com.system.util.CsvStudentWriter;
+import com.system.util.StudentSnapshotReader;
+import com.system.util.StudentSnapshotWriter;
 
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class StudentService {
 
     // The repository interface allows for Clean Architecture [cite: 100]
     private final StudentRepository repository;
 
+    // Type-ahead results are capped: the matching IDs are resolved to full rows in one lookup
+    public static final int TYPE_AHEAD_LIMIT = 100;
+
+    private volatile GpaHistogram gpaHistogram;
+    // Replaced as a whole by a snapshot restore
+    private volatile StudentSearchIndex searchIndex = new StudentSearchIndex();
+    private volatile StudentColumns columns = new StudentColumns();
+    private final GpaAnalytics gpaAnalytics = new GpaAnalytics();
+    private final StudentValidator validator = new StudentValidator();
+    // Every committed write is published here, after the in-memory structures were updated
+    private final StudentChangeBus changes = new StudentChangeBus();
+    private final AtomicLong writeGeneration = new AtomicLong();
+    // Loaded from the settings table on first use (NaN until then)
+    private volatile double activeThreshold = Double.NaN;
+    // Writes that derive a status hold the read lock until the row is stored, so a threshold
+    // change (write lock) never commits between deriving a status and saving it
+    private final ReentrantReadWriteLock thresholdLock = new ReentrantReadWriteLock();
+    // Row writes hold this (inside the threshold lock) from reading the old row until their change
+    // is published, so the old row is the committed one and changes are published in commit order.
+    // SQLite has a single writer anyway, so this only orders writes that would queue there.
+    private final ReentrantLock writeOrder = new ReentrantLock();
+    // Every public operation is timed as "service.<method>"
+    private final MetricsRegistry metrics;
+
     // Constructor injection: This allows you to pass your SQLite implementation in
     public StudentService(StudentRepository repository) {
+        this(repository, MetricsRegistry.getDefault());
+    }
+
+    public StudentService(StudentRepository repository, MetricsRegistry metrics) {
         this.repository = repository;
+        this.metrics = metrics;
+        metrics.gauge("service.searchIndex.entries", searchIndex::size);
+        metrics.gauge("service.columns.rows", columns::size);
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public StudentChangeBus getChanges() {
+        return changes;
     }
 
     /**
@@ -27,161 +85,541 @@ public class StudentService {
      * This resolves the 'Cannot resolve method fetchAllStudents' error.
      */
     public List<Student> fetchAllStudents() throws Exception {
-        return repository.getAllStudents();
+        return metrics.timer("service.fetchAllStudents").time(repository::getAllStudents);
+    }
+
+    /**
+     * Looks up a single student, or returns null when the ID is unknown.
+     */
+    public Student findStudent(String studentId) throws Exception {
+        return metrics.timer("service.findStudent").time(() -> repository.findStudentById(studentId));
+    }
+
+    /**
+     * Requirement 5.1: View all students, one page at a time.
+     * Pass the PageKey of the last row already shown to get the next page (null for the first page).
+     */
+    public List<Student> fetchStudentsPage(SortColumn sortColumn, SortDirection direction,
+                                           PageKey afterKey, int limit) throws Exception {
+        return metrics.timer("service.fetchStudentsPage").time(
+                () -> repository.getStudentsPage(sortColumn, direction, afterKey, limit));
+    }
+
+    /**
+     * Requirement 5.2: Export student data to CSV.
+     * Rows are streamed from the database cursor into the file, so memory use does not depend on the table size.
+     * Returns the number of students written.
+     */
+    public long exportToCSV(String filePath) throws Exception {
+        return metrics.timer("csv.export").time(() -> {
+            CsvStageEvent event = new CsvStageEvent();
+            event.begin();
+            try (CsvStudentWriter writer = new CsvStudentWriter(filePath)) {
+                repository.forEachStudent(true, writer::write);
+                metrics.counter("csv.export.rows").add(writer.getRowsWritten());
+                event.end();
+                if (event.shouldCommit()) {
+                    event.stage = "export";
+                    event.file = filePath;
+                    event.rows = writer.getRowsWritten();
+                    event.commit();
+                }
+                return writer.getRowsWritten();
+            }
+        });
+    }
+
+    /**
+     * Writes every student, with all columns, to a binary snapshot file (see StudentSnapshotWriter).
+     * Returns the number of students written.
+     */
+    public long exportSnapshot(String filePath) throws Exception {
+        return metrics.timer("snapshot.export").time(() -> {
+            try (StudentSnapshotWriter writer = new StudentSnapshotWriter(Path.of(filePath))) {
+                repository.forEachStudent(true, writer::write);
+                writer.finish();
+                metrics.counter("snapshot.export.rows").add(writer.getRowsWritten());
+                return writer.getRowsWritten();
+            }
+        });
+    }
+
+    /**
+     * Replaces every student with the contents of a snapshot file, in one transaction.
+     * The file is verified before anything is deleted. Statuses are derived again from the
+     * current GPA threshold. Once the restore has committed, the old search index and column snapshot
+     * are dropped and both are loaded again from the table, and open views are told to reload.
+     * A failed restore leaves the table and both structures as they were. Returns the number restored.
+     */
+    public long restoreSnapshot(String filePath) throws Exception {
+        return metrics.timer("snapshot.restore").time(() -> {
+            long restored;
+            try (StudentSnapshotReader reader = new StudentSnapshotReader(Path.of(filePath))) {
+                // Exclusive: no other write may derive a status or index a student while the table is replaced
+                thresholdLock.writeLock().lock();
+                try {
+                    double threshold = getActiveThreshold();
+                    Iterator<Student> rows = new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return reader.hasNext();
+                        }
+
+                        @Override
+                        public Student next() {
+                            Student student = reader.next();
+                            student.setStatus(Student.statusFor(student.getGpa(), threshold));
+                            return student;
+                        }
+                    };
+                    try {
+                        restored = repository.replaceAllStudents(rows);
+                    } finally {
+                        studentsChanged();
+                    }
+                    // Release the old structures before loading new ones rather than holding both at once.
+                    // Until the load below finishes, searches and rankings fall back to the database.
+                    searchIndex = new StudentSearchIndex();
+                    columns = new StudentColumns();
+                    metrics.counter("snapshot.restore.rows").add(restored);
+                    changes.publish(StudentChange.reload());
+                } finally {
+                    thresholdLock.writeLock().unlock();
+                }
+            }
+            // Outside the lock, like the load at startup: writes made meanwhile are applied directly
+            loadInMemoryIndexes();
+            return restored;
+        });
     }
 
     /**
      * Requirement 5.1: Add a new student with validation [cite: 74, 79]
      */
     public void saveStudent(Student student) throws Exception {
-        // 1. Validation check
-        List<String> errors = validateStudent(student);
-        if (!errors.isEmpty()) {
-            throw new IllegalArgumentException(String.join("\n", errors));
-        }
+        metrics.timer("service.saveStudent").time(() -> {
+            // 1. Validation check
+            int errors = validator.validate(student);
+            if (errors != 0) {
+                throw new IllegalArgumentException(ValidationError.describe(errors, "\n"));
+            }
 
-        // 2. Threshold Logic: Set status based on the Settings threshold
-        double threshold = com.system.ui.SettingsController.activeThreshold;
-        if (student.getGpa() >= threshold) {
-            student.setStatus("Active");
-        } else {
-            student.setStatus("Inactive");
-        }
+            thresholdLock.readLock().lock();
+            try {
+                // 2. Threshold Logic: Set status based on the saved threshold
+                deriveStatus(student);
+
+                // 3. Persist to Database
+                writeOrder.lock();
+                try {
+                    try {
+                        repository.addStudent(student);
+                    } finally {
+                        studentsChanged();
+                    }
+                    indexStudent(student);
+                    changes.publish(StudentChange.inserted(student));
+                } finally {
+                    writeOrder.unlock();
+                }
+            } finally {
+                thresholdLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Bulk version of saveStudent for imports.
+     * Every student is validated first; only the valid ones reach the database,
+     * and they are written in a single transaction. Returns one result per input, in order.
+     */
+    public List<WriteResult> saveStudents(Collection<Student> students) throws Exception {
+        return metrics.timer("service.saveStudents").time(() -> {
+            List<Student> input = students instanceof List<Student> list ? list : new ArrayList<>(students);
+            WriteResult[] results = new WriteResult[input.size()];
+            int[] errors = validator.validateAll(input);
+            BitSet invalid = StudentValidator.invalidRows(errors);
+            List<Student> valid = new ArrayList<>(input.size() - invalid.cardinality());
+
+            for (int position = 0; position < results.length; position++) {
+                Student student = input.get(position);
+                if (invalid.get(position)) {
+                    results[position] = WriteResult.failed(student.getStudentId(), ValidationError.describe(errors[position], " "));
+                } else {
+                    valid.add(student);
+                }
+            }
+
+            // Valid students come back in input order, so fill the gaps left by the rejected ones
+            List<WriteResult> written = persistValidated(valid);
+            int next = 0;
+            for (int position = invalid.nextClearBit(0); position < results.length; position = invalid.nextClearBit(position + 1)) {
+                results[position] = written.get(next++);
+            }
+            return Arrays.asList(results);
+        });
+    }
 
-        // 3. Persist to Database
-        repository.addStudent(student);
+    /**
+     * Inserts students that already passed validation (used by saveStudents and the CSV import pipeline).
+     */
+    List<WriteResult> persistValidated(List<Student> students) throws Exception {
+        thresholdLock.readLock().lock();
+        try {
+            // Threshold Logic: Set status based on the saved threshold
+            for (Student student : students) {
+                deriveStatus(student);
+            }
+            writeOrder.lock();
+            try {
+                List<WriteResult> results;
+                try {
+                    results = repository.addStudents(students);
+                } finally {
+                    studentsChanged();
+                }
+                List<StudentChange> inserted = new ArrayList<>(results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i).isSuccess()) {
+                        indexStudent(students.get(i));
+                        inserted.add(StudentChange.inserted(students.get(i)));
+                    }
+                }
+                changes.publishAll(inserted);
+                return results;
+            } finally {
+                writeOrder.unlock();
+            }
+        } finally {
+            thresholdLock.readLock().unlock();
+        }
     }
+
     /**
      * Requirement 5.1: Update an existing student [cite: 43]
      */
     public void updateStudent(Student student) throws Exception {
-        List<String> errors = validateStudent(student);
-        if (!errors.isEmpty()) {
-            throw new IllegalArgumentException(String.join("\n", errors));
-        }
-        repository.updateStudent(student);
+        metrics.timer("service.updateStudent").time(() -> {
+            int errors = validator.validate(student);
+            if (errors != 0) {
+                throw new IllegalArgumentException(ValidationError.describe(errors, "\n"));
+            }
+            thresholdLock.readLock().lock();
+            try {
+                // The GPA may have changed, so the status is derived again
+                deriveStatus(student);
+                writeOrder.lock();
+                try {
+                    // The old row goes into the change event; no other write can commit until it is published
+                    Student before = repository.findStudentById(student.getStudentId());
+                    try {
+                        repository.updateStudent(student);
+                    } finally {
+                        studentsChanged();
+                    }
+                    if (before == null) {
+                        return; // No such student: nothing was written
+                    }
+                    // date_added is not part of an update, so the stored one is still current
+                    student.setDateAdded(before.getDateAdded());
+                    indexStudent(student);
+                    changes.publish(StudentChange.updated(before, student));
+                } finally {
+                    writeOrder.unlock();
+                }
+            } finally {
+                thresholdLock.readLock().unlock();
+            }
+        });
     }
 
     /**
      * Requirement 5.1: Delete a student [cite: 44]
      */
     public void removeStudent(String studentId) throws Exception {
-        repository.deleteStudent(studentId);
+        metrics.timer("service.removeStudent").time(() -> {
+            // Shared, like the other row writes, so a snapshot restore never runs in between
+            thresholdLock.readLock().lock();
+            writeOrder.lock();
+            try {
+                Student before = repository.findStudentById(studentId);
+                try {
+                    repository.deleteStudent(studentId);
+                } finally {
+                    studentsChanged();
+                }
+                searchIndex.remove(studentId);
+                columns.remove(studentId);
+                if (before != null) {
+                    changes.publish(StudentChange.deleted(before));
+                }
+            } finally {
+                writeOrder.unlock();
+                thresholdLock.readLock().unlock();
+            }
+        });
     }
 
     /**
      * Requirement 5.1: Search students [cite: 45]
+     * Every word of the query is matched as a prefix of the ID, name, programme or email,
+     * best matches first.
      */
     public List<Student> search(String query) throws Exception {
-        return repository.searchStudents(query);
+        return metrics.timer("service.search").time(() -> repository.searchStudents(query));
     }
 
     /**
-     * Requirement 5.3: Top Performers Report [cite: 63]
+     * Search-as-you-type: every word of the query must be a prefix of the ID or a name word,
+     * or occur anywhere in the ID or name. Served from the in-memory search index; until that
+     * index has finished loading, falls back to the database search.
      */
-    public List<Student> getTopPerformers(int limit) throws Exception {
-        return repository.getAllStudents().stream()
-                .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
-                .limit(limit)
-                .collect(Collectors.toList());
+    public List<Student> searchAsYouType(String query) throws Exception {
+        return metrics.timer("service.searchAsYouType").time(() -> {
+            if (!searchIndex.isReady()) {
+                return repository.searchStudents(query);
+            }
+            return repository.findStudentsByIds(searchIndex.search(query, TYPE_AHEAD_LIMIT));
+        });
     }
 
     /**
-     * Validates a student object based on project requirements [cite: 80-87].
+     * Fills the search index and the column snapshot from the student table in a single scan.
+     * Writes made while this runs are applied to both directly and are not overwritten by the scan.
      */
-    public List<String> validateStudent(Student student) {
-        List<String> errors = new ArrayList<>();
-
-        // 1. Student ID Validation: 4 to 20 chars, letters/digits only [cite: 80]
-        if (student.getStudentId() == null || student.getStudentId().isEmpty()) {
-            errors.add("Student ID is required.");
-        } else if (student.getStudentId().length() < 4 || student.getStudentId().length() > 20) {
-            errors.add("Student ID must be between 4 and 20 characters.");
-        } else if (!student.getStudentId().matches("^[a-zA-Z0-9]+$")) {
-            errors.add("Student ID must contain only letters and digits.");
-        }
+    public void loadInMemoryIndexes() throws Exception {
+        metrics.timer("service.loadInMemoryIndexes").time(() -> {
+            // A restore may swap in new structures meanwhile; this scan keeps filling the ones it started with
+            StudentSearchIndex index = searchIndex;
+            StudentColumns loading = columns;
+            if (index.isReady() && loading.isReady()) {
+                return;
+            }
+            AggregationEvent event = AggregationEvent.start();
+            repository.forEachStudent(true, s -> {
+                index.load(s.getStudentId(), s.getFullName());
+                loading.load(s);
+            });
+            index.finishLoading();
+            loading.finishLoading();
+            event.finish("loadInMemoryIndexes", "database", loading.size(), 0);
+        });
+    }
 
-        // 2. Full Name Validation: 2 to 60 chars, no digits [cite: 81]
-        if (student.getFullName() == null || student.getFullName().trim().isEmpty()) {
-            errors.add("Full name is required.");
-        } else if (student.getFullName().length() < 2 || student.getFullName().length() > 60) {
-            errors.add("Full name must be between 2 and 60 characters.");
-        } else if (student.getFullName().matches(".*\\d.*")) {
-            errors.add("Full name must not contain digits.");
+    /**
+     * The GPA at or above which a student is "Active", as saved in the database.
+     */
+    public double getActiveThreshold() throws Exception {
+        double threshold = activeThreshold;
+        if (Double.isNaN(threshold)) {
+            // Under the lock, so a concurrent threshold change cannot be overwritten by the older value
+            thresholdLock.readLock().lock();
+            try {
+                threshold = activeThreshold;
+                if (Double.isNaN(threshold)) {
+                    threshold = repository.getActiveThreshold();
+                    activeThreshold = threshold;
+                }
+            } finally {
+                thresholdLock.readLock().unlock();
+            }
         }
+        return threshold;
+    }
 
-        // 3. Programme Validation [cite: 82]
-        if (student.getProgramme() == null || student.getProgramme().isEmpty()) {
-            errors.add("Programme is required.");
-        }
+    /**
+     * Saves a new threshold and updates the stored status of every student in one set-based
+     * statement, then re-derives the in-memory status column. Returns the number of students
+     * whose status changed.
+     */
+    public int setActiveThreshold(double threshold) throws Exception {
+        return metrics.timer("service.setActiveThreshold").time(() -> {
+            if (!(threshold >= 0.0 && threshold <= 4.0)) {
+                throw new IllegalArgumentException(ValidationError.GPA_RANGE.getMessage());
+            }
+            thresholdLock.writeLock().lock();
+            try {
+                int changed;
+                try {
+                    changed = repository.applyActiveThreshold(threshold);
+                } finally {
+                    studentsChanged();
+                }
+                activeThreshold = threshold;
+                columns.applyActiveThreshold(threshold);
+                if (changed > 0) {
+                    // Set-based: no per-row events, views read their data again
+                    changes.publish(StudentChange.reload());
+                }
+                return changed;
+            } finally {
+                thresholdLock.writeLock().unlock();
+            }
+        });
+    }
 
-        // 4. Level Validation: must be specific values [cite: 83]
-        List<Integer> validLevels = List.of(100, 200, 300, 400, 500, 600, 700);
-        if (!validLevels.contains(student.getLevel())) {
-            errors.add("Level must be one of: 100, 200, 300, 400, 500, 600, 700.");
-        }
+    // Callers hold the threshold read lock until the student is written
+    private void deriveStatus(Student student) throws Exception {
+        student.setStatus(Student.statusFor(student.getGpa(), getActiveThreshold()));
+    }
 
-        // 5. GPA Validation: 0.0 to 4.0 [cite: 84]
-        if (student.getGpa() < 0.0 || student.getGpa() > 4.0) {
-            errors.add("GPA must be between 0.0 and 4.0.");
-        }
+    // Keeps the in-memory structures in step with a successful write
+    private void indexStudent(Student student) {
+        searchIndex.put(student.getStudentId(), student.getFullName());
+        columns.put(student);
+    }
 
-        // 6. Email Validation: must have '@' and '.' [cite: 85]
-        if (student.getEmail() != null && !student.getEmail().isEmpty()) {
-            if (!student.getEmail().contains("@") || !student.getEmail().contains(".")) {
-                errors.add("Email must contain an '@' sign and a dot.");
-            }
-        }
+    /**
+     * Requirement 5.3: Top Performers Report [cite: 63]
+     */
+    public List<Student> getTopPerformers(int limit) throws Exception {
+        return getTopPerformers(limit, null, null);
+    }
 
-        // 7. Phone Number Validation: 10 to 15 digits only [cite: 86]
-        if (student.getPhoneNumber() != null && !student.getPhoneNumber().isEmpty()) {
-            if (!student.getPhoneNumber().matches("^\\d{10,15}$")) {
-                errors.add("Phone number must be 10 to 15 digits (numbers only).");
+    /**
+     * Top performers within one programme and/or level (null means any).
+     * Ranked over the in-memory GPA column when it is loaded, so only the winning rows are read;
+     * before that the database answers it from the GPA index. Students without a GPA are left out.
+     */
+    public List<Student> getTopPerformers(int limit, String programme, Integer level) throws Exception {
+        return metrics.timer("service.getTopPerformers").time(() -> {
+            boolean inMemory = columns.isReady();
+            AggregationEvent event = AggregationEvent.start();
+            List<Student> top = inMemory
+                    ? repository.findStudentsByIds(columns.topByGpa(limit, programme, level))
+                    : repository.getTopStudentsByGpa(limit, programme, level);
+            // The column holds a NULL GPA as 0.0; if the ranking got that far, let the database leave those rows out
+            if (inMemory && !top.isEmpty() && top.get(top.size() - 1).getGpa() <= 0.0) {
+                inMemory = false;
+                top = repository.getTopStudentsByGpa(limit, programme, level);
             }
-        }
+            event.finish("getTopPerformers", inMemory ? "columns" : "database", inMemory ? columns.size() : top.size(), top.size());
+            return top;
+        });
+    }
+
+    /**
+     * Validates a student object based on project requirements [cite: 80-87].
+     */
+    public List<String> validateStudent(Student student) {
+        return ValidationError.messages(validator.validate(student));
+    }
 
-        return errors;
+    // Shared with the CSV import pipeline, whose workers only need the error mask
+    StudentValidator getValidator() {
+        return validator;
     }
 
-    // This method does the heavy lifting for the dashboard
+    // This method does the heavy lifting for the dashboard.
+    // The totals are maintained by the database on every write, so this does not scan the students.
     public DashboardStats getDashboardStats() throws Exception {
-        List<Student> students = repository.getAllStudents();
-
-        int total = students.size();
-        double avg = students.stream().mapToDouble(Student::getGpa).average().orElse(0.0);
-        int active = (int) students.stream()
-                .filter(s -> "Active".equalsIgnoreCase(s.getStatus()))
-                .count();
+        return metrics.timer("service.getDashboardStats").time(() -> {
+            AggregationEvent event = AggregationEvent.start();
+            StudentAggregates aggregates = repository.getAggregates();
+            // The stored statuses are kept in step with the threshold, so their maintained counts are exact
+            DashboardStats stats = new DashboardStats((int) aggregates.getTotalStudents(), aggregates.getAverageGpa(),
+                    (int) aggregates.countWithStatus(Student.ACTIVE), (int) aggregates.countWithStatus(Student.INACTIVE));
+            event.finish("getDashboardStats", "aggregate tables", aggregates.getTotalStudents(), 0);
+            return stats;
+        });
+    }
 
-        return new DashboardStats(total, avg, active);
+    /**
+     * Recounts the dashboard totals from scratch and compares them with the maintained ones.
+     */
+    public ConsistencyReport checkDashboardConsistency() throws Exception {
+        return metrics.timer("service.checkDashboardConsistency").time(() -> {
+            AggregationEvent event = AggregationEvent.start();
+            ConsistencyReport report = repository.checkAggregates();
+            event.finish("checkDashboardConsistency", "database", report.getRecomputed().getTotalStudents(), 0);
+            return report;
+        });
     }
-    @FXML
-    private Label inactiveCountLabel; // Link this to the FXML fx:id
-    private StudentService studentService;
-    private void updateDashboardStats() {
-        try {
-            List<Student> students = studentService.fetchAllStudents();
-            double threshold = com.system.ui.SettingsController.activeThreshold;
 
-            // Count those who fall below the threshold
-            long activeCount = students.stream().filter(s -> s.getGpa() >= threshold).count();
-            long inactiveCount = students.stream().filter(s -> s.getGpa() < threshold).count();
+    /**
+     * Replaces the maintained dashboard totals with a fresh recount.
+     */
+    public void repairDashboardTotals() throws Exception {
+        metrics.timer("service.repairDashboardTotals").time(() -> {
+            repository.rebuildAggregates();
+            studentsChanged();
+            changes.publish(StudentChange.reload());
+        });
+    }
 
+    /**
+     * Number of students whose GPA is at or above the threshold. Answered from the GPA histogram
+     * in O(log n) time, so it is cheap enough to call on every slider movement (the what-if preview;
+     * the saved threshold's counts come from getDashboardStats).
+     */
+    public long countActive(double threshold) throws Exception {
+        return metrics.timer("service.countActive").time(() -> gpaHistogram().countAtLeast(threshold));
+    }
 
-            inactiveCountLabel.setText(String.valueOf(inactiveCount)); // Update the new label
+    public long countInactive(double threshold) throws Exception {
+        return metrics.timer("service.countInactive").time(() -> gpaHistogram().countBelow(threshold));
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    // The database keeps the histogram current; the in-memory tree is reloaded (401 rows) after writes
+    private GpaHistogram gpaHistogram() throws Exception {
+        GpaHistogram histogram = gpaHistogram;
+        if (histogram == null) {
+            long generation = writeGeneration.get();
+            histogram = GpaHistogram.fromCounts(repository.getGpaHistogram());
+            // Don't keep a tree that was loaded while a write was in flight
+            if (writeGeneration.get() == generation) {
+                gpaHistogram = histogram;
+            }
         }
+        return histogram;
+    }
+
+    /**
+     * Increases with every write through this service, so callers can tell whether data they
+     * loaded earlier may be out of date.
+     */
+    public long getDataVersion() {
+        return writeGeneration.get();
     }
+
+    private void studentsChanged() {
+        writeGeneration.incrementAndGet();
+        gpaHistogram = null;
+    }
+
+    /**
+     * Count, mean, min, max, standard deviation and GPA percentiles for every programme and level,
+     * computed in parallel over the column snapshot. If the snapshot has not finished loading yet,
+     * a one-off copy is scanned from the database instead.
+     */
+    public List<GpaDistribution> getGpaDistributions() throws Exception {
+        return metrics.timer("service.getGpaDistributions").time(() -> {
+            StudentColumns source = columns;
+            boolean inMemory = source.isReady();
+            AggregationEvent event = AggregationEvent.start();
+            if (!inMemory) {
+                source = new StudentColumns();
+                repository.forEachStudent(true, source::load);
+                source.finishLoading();
+            }
+            List<GpaDistribution> distributions = gpaAnalytics.distributions(source);
+            event.finish("getGpaDistributions", inMemory ? "columns" : "database", source.size(), distributions.size());
+            return distributions;
+        });
+    }
+
     public Map<String, List<Student>> generateAcademicReportData() throws Exception {
-        List<Student> allStudents = fetchAllStudents();
-        double threshold = com.system.ui.SettingsController.activeThreshold;
+        return metrics.timer("service.generateAcademicReportData").time(() -> {
+            AggregationEvent event = AggregationEvent.start();
+            List<Student> allStudents = fetchAllStudents();
 
-        // Grouping students by their performance against your threshold
-        return allStudents.stream().collect(java.util.stream.Collectors.groupingBy(s ->
-                s.getGpa() >= threshold ? "Good Standing" : "At Risk"
-        ));
+            // Grouping students by their stored status, which follows the saved threshold
+            Map<String, List<Student>> report = allStudents.stream().collect(java.util.stream.Collectors.groupingBy(s ->
+                    Student.ACTIVE.equals(s.getStatus()) ? "Good Standing" : "At Risk"
+            ));
+            event.finish("generateAcademicReportData", "all students", allStudents.size(), report.size());
+            return report;
+        });
     }
 
 }
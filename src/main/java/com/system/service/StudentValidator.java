@@ -0,0 +1,157 @@
+package com.system.service;
+
+import com.system.domain.Student;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Validation rules for student records [cite: 80-87], as hand-written character checks.
+ *
+ * validate() returns a bit mask of ValidationError codes and allocates nothing, so it is cheap
+ * enough for imports of millions of rows. validateAll() checks a whole batch in parallel and
+ * returns one mask per student.
+ */
+public class StudentValidator {
+    // Below this many students the bulk check stays on the calling thread
+    private static final int PARALLEL_THRESHOLD = 4_096;
+
+    private final ForkJoinPool pool;
+
+    public StudentValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public StudentValidator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Bit mask of the rules the student breaks; 0 when the record is valid.
+     */
+    public int validate(Student student) {
+        int errors = 0;
+
+        // 1. Student ID: 4 to 20 chars, letters/digits only [cite: 80]
+        String id = student.getStudentId();
+        if (id == null || id.isEmpty()) {
+            errors |= ValidationError.ID_REQUIRED.mask();
+        } else if (id.length() < 4 || id.length() > 20) {
+            errors |= ValidationError.ID_LENGTH.mask();
+        } else if (!isAsciiLettersOrDigits(id)) {
+            errors |= ValidationError.ID_CHARACTERS.mask();
+        }
+
+        // 2. Full name: 2 to 60 chars, no digits [cite: 81]
+        String name = student.getFullName();
+        if (name == null || isTrimmedEmpty(name)) {
+            errors |= ValidationError.NAME_REQUIRED.mask();
+        } else if (name.length() < 2 || name.length() > 60) {
+            errors |= ValidationError.NAME_LENGTH.mask();
+        } else if (containsAsciiDigit(name)) {
+            errors |= ValidationError.NAME_DIGITS.mask();
+        }
+
+        // 3. Programme [cite: 82]
+        if (student.getProgramme() == null || student.getProgramme().isEmpty()) {
+            errors |= ValidationError.PROGRAMME_REQUIRED.mask();
+        }
+
+        // 4. Level: 100, 200, ... 700 [cite: 83]
+        int level = student.getLevel();
+        if (level < 100 || level > 700 || level % 100 != 0) {
+            errors |= ValidationError.LEVEL_INVALID.mask();
+        }
+
+        // 5. GPA: 0.0 to 4.0 [cite: 84]
+        if (student.getGpa() < 0.0 || student.getGpa() > 4.0) {
+            errors |= ValidationError.GPA_RANGE.mask();
+        }
+
+        // 6. Email: must have '@' and '.' when given [cite: 85]
+        String email = student.getEmail();
+        if (email != null && !email.isEmpty() && (email.indexOf('@') < 0 || email.indexOf('.') < 0)) {
+            errors |= ValidationError.EMAIL_FORMAT.mask();
+        }
+
+        // 7. Phone number: 10 to 15 digits only, when given [cite: 86]
+        String phone = student.getPhoneNumber();
+        if (phone != null && !phone.isEmpty()
+                && (phone.length() < 10 || phone.length() > 15 || !isAsciiDigits(phone))) {
+            errors |= ValidationError.PHONE_FORMAT.mask();
+        }
+
+        return errors;
+    }
+
+    /**
+     * Validates every student and returns their masks in the same order.
+     * Large batches are split across the cores of the pool.
+     */
+    public int[] validateAll(List<Student> students) {
+        int[] errors = new int[students.size()];
+        if (errors.length < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = validate(students.get(i));
+            }
+            return errors;
+        }
+        // Each index is written by exactly one task, so no synchronisation is needed
+        pool.submit(() -> IntStream.range(0, errors.length).parallel()
+                .forEach(i -> errors[i] = validate(students.get(i)))).join();
+        return errors;
+    }
+
+    // Positions of the students with at least one error
+    public static BitSet invalidRows(int[] errors) {
+        BitSet invalid = new BitSet(errors.length);
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != 0) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    // Same as text.trim().isEmpty() without building the trimmed copy
+    private static boolean isTrimmedEmpty(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLettersOrDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAsciiDigit(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.system.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every rule a student record can break, in the order the messages are shown.
+ * A validation result is an int with one bit per broken rule (0 means valid).
+ */
+public enum ValidationError {
+    ID_REQUIRED("Student ID is required."),
+    ID_LENGTH("Student ID must be between 4 and 20 characters."),
+    ID_CHARACTERS("Student ID must contain only letters and digits."),
+    NAME_REQUIRED("Full name is required."),
+    NAME_LENGTH("Full name must be between 2 and 60 characters."),
+    NAME_DIGITS("Full name must not contain digits."),
+    PROGRAMME_REQUIRED("Programme is required."),
+    LEVEL_INVALID("Level must be one of: 100, 200, 300, 400, 500, 600, 700."),
+    GPA_RANGE("GPA must be between 0.0 and 4.0."),
+    EMAIL_FORMAT("Email must contain an '@' sign and a dot."),
+    PHONE_FORMAT("Phone number must be 10 to 15 digits (numbers only).");
+
+    private static final ValidationError[] ALL = values();
+
+    private final String message;
+
+    ValidationError(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public boolean isSetIn(int errors) {
+        return (errors & mask()) != 0;
+    }
+
+    // Messages for every bit set in errors, in rule order
+    public static List<String> messages(int errors) {
+        List<String> messages = new ArrayList<>(Integer.bitCount(errors));
+        for (ValidationError error : ALL) {
+            if (error.isSetIn(errors)) {
+                messages.add(error.message);
+            }
+        }
+        return messages;
+    }
+
+    public static String describe(int errors, String separator) {
+        return String.join(separator, messages(errors));
+    }
+}
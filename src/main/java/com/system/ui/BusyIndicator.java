@@ -0,0 +1,32 @@
+package com.system.ui;
+
+import javafx.scene.Node;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shows a loading indicator while at least one tracked operation is still pending.
+ * Must be used from the JavaFX thread, which is where AsyncStudentService completes its futures.
+ */
+public class BusyIndicator {
+    private final Node indicator;
+    private int pending;
+
+    public BusyIndicator(Node indicator) {
+        this.indicator = indicator;
+        indicator.setVisible(false);
+        indicator.setManaged(false);
+    }
+
+    public <T> CompletableFuture<T> track(CompletableFuture<T> operation) {
+        setPending(pending + 1);
+        operation.whenComplete((value, error) -> setPending(pending - 1));
+        return operation;
+    }
+
+    private void setPending(int count) {
+        pending = count;
+        indicator.setVisible(count > 0);
+        indicator.setManaged(count > 0);
+    }
+}
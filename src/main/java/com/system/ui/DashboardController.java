@@ -1,68 +1,111 @@
 package com.system.ui;
 
 import com.system.domain.DashboardStats;
-import com.system.domain.Student;
-import com.system.service.StudentService;
+import com.system.domain.StudentChange;
+import com.system.service.AsyncStudentService;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.util.Duration;
 
 import java.util.List;
 
-public class DashboardController {
+public class DashboardController implements ViewLifecycle {
     @FXML private Label totalStudentsLabel;
     @FXML private Label avgGpaLabel;
     @FXML
     private Label activeLabel;
+    @FXML private ProgressIndicator loadingIndicator;
 
-    private StudentService studentService;
+    private AsyncStudentService studentService;
+    private BusyIndicator busy;
 
-    public void setStudentService(StudentService service) {
-        this.studentService = service;
-        refreshStats();
+    // The totals are read again after writes, at most once per pause; a burst of change batches
+    // (an import) costs one read per pause instead of one per batch
+    private static final Duration REFRESH_DELAY = Duration.millis(250);
+    private final PauseTransition refreshDelay = new PauseTransition(REFRESH_DELAY);
+    private boolean loaded;
+    private boolean loading;
+    private boolean changedWhileLoading;
+
+    @FXML
+    public void initialize() {
+        busy = new BusyIndicator(loadingIndicator);
+        refreshDelay.setOnFinished(event -> refreshStats());
+    }
+
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
-        updateDashboardStats(); //// Call refresh immediately when service is set
+        service.subscribe(this::applyChanges);
+    }
+
+    // The view is cached and change events trigger a new read, so it is only read on the first show
+    @Override
+    public void onShow() {
+        if (!loaded && !loading) {
+            refreshStats();
+        }
     }
 
     private void refreshStats() {
-        try {
-            // Use the service to get the pre-calculated stats
-            DashboardStats stats = studentService.getDashboardStats();
-
-            totalStudentsLabel.setText(String.valueOf(stats.getTotalStudents()));
-            avgGpaLabel.setText(String.format("%.2f", stats.getAverageGpa()));
-            activeLabel.setText(String.valueOf(stats.getActiveStudents()));
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            // Default to 0 if database fails
-            totalStudentsLabel.setText("0");
-            avgGpaLabel.setText("0.00");
-            activeLabel.setText("0");
+        loading = true;
+        changedWhileLoading = false;
+        // Use the service to get the pre-calculated stats
+        busy.track(studentService.getDashboardStats()).whenComplete((stats, error) -> {
+            loading = false;
+            if (changedWhileLoading) {
+                // The totals may or may not include those writes: read them again
+                refreshStats();
+                return;
+            }
+            if (error != null) {
+                if (AsyncStudentService.isCancellation(error)) {
+                    return;
+                }
+                AsyncStudentService.unwrap(error).printStackTrace();
+                // Default to 0 if database fails
+                totalStudentsLabel.setText("0");
+                avgGpaLabel.setText("0.00");
+                activeLabel.setText("0");
+                inactiveCountLabel.setText("0");
+                return;
+            }
+            loaded = true;
+            showStats(stats);
+        });
+    }
+
+    // The database maintains the totals on every write, so reading them again is O(1); that is
+    // exact where adjusting them from the change events would drift
+    private void applyChanges(List<StudentChange> changes) {
+        if (loading) {
+            changedWhileLoading = true;
+            return;
+        }
+        if (!loaded) {
+            return; // Not read yet; the first read includes these writes
+        }
+        if (refreshDelay.getStatus() != Animation.Status.RUNNING) {
+            refreshDelay.play();
         }
     }
 
+    private void showStats(DashboardStats stats) {
+        totalStudentsLabel.setText(String.valueOf(stats.getTotalStudents()));
+        avgGpaLabel.setText(String.format("%.2f", stats.getAverageGpa()));
+        activeLabel.setText(String.valueOf(stats.getActiveStudents()));
+        // Requirement 5.2 logic: students below the GPA threshold (stored status, counted by the database)
+        inactiveCountLabel.setText(String.valueOf(stats.getInactiveStudents()));
+    }
+
     @FXML
     private void handleReport() {
         System.out.println("Generating Week 3 Report...");
     }
     @FXML private Label inactiveCountLabel;
 
-    private void updateDashboardStats() {
-        try {
-            List<Student> students = studentService.fetchAllStudents();
-            double threshold = SettingsController.activeThreshold;
-
-            // Requirement 5.2 logic: Filter based on GPA threshold
-            long activeCount = students.stream().filter(s -> s.getGpa() >= threshold).count();
-            long inactiveCount = students.stream().filter(s -> s.getGpa() < threshold).count();
-
-
-            inactiveCountLabel.setText(String.valueOf(inactiveCount));
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
     // Inside DashboardController.java
     private MainController mainController;
 
@@ -1,18 +1,36 @@
 package com.system.ui;
 
-import com.system.domain.Student;
-import com.system.service.StudentService;
-import com.system.util.CSVUtil;
+import com.system.domain.ImportProgress;
+import com.system.service.AsyncStudentService;
+import com.system.service.CsvImportPipeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.stage.FileChooser;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ProgressIndicator;
 import java.io.File;
-import java.util.List;
+import java.nio.file.Path;
 
 public class DataToolsController {
-    private StudentService studentService;
+    @FXML private ProgressBar importProgressBar;
+    @FXML private Label importStatusLabel;
+    @FXML private Button cancelImportButton;
+    @FXML private ProgressIndicator loadingIndicator;
 
-    public void setStudentService(StudentService service) {
+    private AsyncStudentService studentService;
+    private BusyIndicator busy;
+    private CsvImportPipeline runningImport;
+
+    @FXML
+    public void initialize() {
+        busy = new BusyIndicator(loadingIndicator);
+    }
+
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
     }
 
@@ -26,18 +44,24 @@ public class DataToolsController {
         File file = fileChooser.showSaveDialog(null);
 
         if (file != null) {
-            try {
-                List<Student> students = studentService.fetchAllStudents();
-                CSVUtil.exportToCSV(students, file.getAbsolutePath()); // Call utility
+            // Streams rows straight into the file
+            busy.track(studentService.exportToCSV(file.getAbsolutePath())).whenComplete((rows, error) -> {
+                if (error != null) {
+                    showAlert("Error", "Export failed: " + AsyncStudentService.unwrap(error).getMessage());
+                    return;
+                }
                 showAlert("Success", "Data exported successfully to " + file.getName());
-            } catch (Exception e) {
-                showAlert("Error", "Export failed: " + e.getMessage());
-            }
+            });
         }
     }
 
     @FXML
     private void handleImport() {
+        if (runningImport != null) {
+            showAlert("Import", "An import is already running.");
+            return;
+        }
+
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Open Student CSV File");
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
@@ -45,17 +69,143 @@ public class DataToolsController {
         File file = fileChooser.showOpenDialog(null);
 
         if (file != null) {
-            try {
-                // Future Week 3 task: Implement CSVUtil.importFromCSV
-                // For now, we print to console to verify the path
-                System.out.println("Importing from: " + file.getAbsolutePath());
-                showAlert("Import", "Import logic triggered for: " + file.getName());
-            } catch (Exception e) {
-                showAlert("Error", "Import failed: " + e.getMessage());
-            }
+            CsvImportPipeline pipeline = new CsvImportPipeline(studentService.getService());
+            runningImport = pipeline;
+            setImportRunning(true);
+            importStatusLabel.setText("Importing " + file.getName() + "...");
+
+            // The pipeline blocks until it is done, so keep it off the JavaFX thread
+            Thread importThread = new Thread(() -> {
+                try {
+                    ImportProgress result = pipeline.run(file.toPath(),
+                            progress -> Platform.runLater(() -> showProgress(progress)));
+                    Platform.runLater(() -> finishImport(result, pipeline.getRejectedReport()));
+                } catch (Exception e) {
+                    Platform.runLater(() -> {
+                        setImportRunning(false);
+                        showAlert("Error", "Import failed: " + e.getMessage());
+                    });
+                }
+            }, "csv-import-main");
+            importThread.setDaemon(true);
+            importThread.start();
+        }
+    }
+
+    @FXML
+    private void handleCancelImport() {
+        if (runningImport != null) {
+            runningImport.cancel();
+            importStatusLabel.setText("Cancelling import...");
+        }
+    }
+
+    private void showProgress(ImportProgress progress) {
+        importProgressBar.setProgress(progress.getFraction());
+        importStatusLabel.setText(String.format("%,d imported, %,d rejected (%,.0f rows/sec)",
+                progress.getRowsWritten(), progress.getRowsRejected(), progress.getRowsPerSecond()));
+    }
+
+    private void finishImport(ImportProgress result, Path rejectedReport) {
+        showProgress(result);
+        setImportRunning(false);
+
+        String message = (result.isCancelled() ? "Import cancelled. " : "Import finished. ")
+                + String.format("%,d students imported, %,d rows rejected.", result.getRowsWritten(), result.getRowsRejected());
+        if (rejectedReport != null) {
+            message += "\nRejected rows were written to " + rejectedReport;
+        }
+        showAlert("Import", message);
+    }
+
+    private void setImportRunning(boolean running) {
+        if (!running) {
+            runningImport = null;
+        }
+        importProgressBar.setVisible(running || importProgressBar.getProgress() > 0);
+        cancelImportButton.setDisable(!running);
+    }
+
+    @FXML
+    private void handleSaveSnapshot() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Student Snapshot");
+        fileChooser.setInitialFileName("students.snapshot");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Student Snapshots", "*.snapshot"));
+
+        File file = fileChooser.showSaveDialog(null);
+
+        if (file != null) {
+            busy.track(studentService.exportSnapshot(file.getAbsolutePath())).whenComplete((rows, error) -> {
+                if (error != null) {
+                    showAlert("Error", "Snapshot failed: " + AsyncStudentService.unwrap(error).getMessage());
+                    return;
+                }
+                showAlert("Success", String.format("%,d students saved to %s", rows, file.getName()));
+            });
         }
     }
 
+    @FXML
+    private void handleRestoreSnapshot() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Open Student Snapshot");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Student Snapshots", "*.snapshot"));
+
+        File file = fileChooser.showOpenDialog(null);
+        if (file == null) {
+            return;
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Restore Snapshot");
+        confirm.setHeaderText("Replace all students?");
+        confirm.setContentText("Every student currently in the database will be replaced by the contents of "
+                + file.getName() + ".");
+        confirm.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                // A damaged file is rejected before anything is deleted, and a failed restore is rolled back
+                busy.track(studentService.restoreSnapshot(file.getAbsolutePath())).whenComplete((rows, error) -> {
+                    if (error != null) {
+                        showAlert("Error", "Restore failed: " + AsyncStudentService.unwrap(error).getMessage());
+                        return;
+                    }
+                    showAlert("Success", String.format("%,d students restored from %s", rows, file.getName()));
+                });
+            }
+        });
+    }
+
+    @FXML
+    private void handleVerifyTotals() {
+        busy.track(studentService.checkDashboardConsistency()).whenComplete((report, error) -> {
+            if (error != null) {
+                showAlert("Error", "Consistency check failed: " + AsyncStudentService.unwrap(error).getMessage());
+                return;
+            }
+            if (report.isConsistent()) {
+                showAlert("Consistency Check", report.describe());
+                return;
+            }
+
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("Consistency Check");
+            confirm.setHeaderText("Dashboard totals have drifted");
+            confirm.setContentText(report.describe() + "\nRebuild the totals from the student table now?");
+            confirm.showAndWait().ifPresent(response -> {
+                if (response == ButtonType.OK) {
+                    busy.track(studentService.repairDashboardTotals()).whenComplete((ignored, repairError) -> {
+                        if (repairError != null) {
+                            showAlert("Error", "Repair failed: " + AsyncStudentService.unwrap(repairError).getMessage());
+                            return;
+                        }
+                        showAlert("Consistency Check", "Dashboard totals were rebuilt.");
+                    });
+                }
+            });
+        });
+    }
+
     private void showAlert(String title, String content) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
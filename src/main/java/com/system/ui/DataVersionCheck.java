@@ -0,0 +1,35 @@
+package com.system.ui;
+
+import com.system.service.AsyncStudentService;
+
+/**
+ * Remembers which version of the student data a cached view last loaded, so that showing
+ * the view again only reloads it when something was written in between.
+ * Must be used from the JavaFX thread.
+ */
+public class DataVersionCheck {
+    private final AsyncStudentService service;
+    private long loadedVersion = -1;
+
+    public DataVersionCheck(AsyncStudentService service) {
+        this.service = service;
+    }
+
+    /**
+     * True (once) when the data changed since the last reload. The version is taken before the
+     * caller reloads, so a write that lands during the reload is picked up the next time.
+     */
+    public boolean needsReload() {
+        long current = service.getService().getDataVersion();
+        if (current == loadedVersion) {
+            return false;
+        }
+        loadedVersion = current;
+        return true;
+    }
+
+    // For views that reload on their own (e.g. after their own writes)
+    public void markLoaded() {
+        loadedVersion = service.getService().getDataVersion();
+    }
+}
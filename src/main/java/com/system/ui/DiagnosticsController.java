@@ -0,0 +1,238 @@
+package com.system.ui;
+
+import com.system.metrics.MetricsRegistry;
+import com.system.metrics.MetricsSnapshot;
+import com.system.metrics.TimerSnapshot;
+import com.system.metrics.jfr.FlightRecording;
+import com.system.service.AsyncStudentService;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Duration;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Live view of the metrics registry: latency percentiles and throughput per operation,
+ * plus counters and gauges (cache statistics, index sizes, heap). Refreshes every second
+ * while it is on screen.
+ */
+public class DiagnosticsController implements ViewLifecycle {
+    private static final String SINCE_START = "Since start";
+    private static final String LAST_10_SECONDS = "Last 10 seconds";
+    private static final String LAST_MINUTE = "Last minute";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @FXML private ChoiceBox<String> windowBox;
+    @FXML private Button dumpRecordingButton;
+    @FXML private Label summaryLabel;
+    @FXML private TableView<TimerRow> timerTable;
+    @FXML private TableColumn<TimerRow, String> colOperation;
+    @FXML private TableColumn<TimerRow, Long> colCalls;
+    @FXML private TableColumn<TimerRow, Double> colRate;
+    @FXML private TableColumn<TimerRow, Double> colP50;
+    @FXML private TableColumn<TimerRow, Double> colP99;
+    @FXML private TableColumn<TimerRow, Double> colMax;
+    @FXML private TableColumn<TimerRow, Long> colFailures;
+    @FXML private TableView<ValueRow> valueTable;
+    @FXML private TableColumn<ValueRow, String> colMetric;
+    @FXML private TableColumn<ValueRow, String> colValue;
+
+    private MetricsRegistry metrics;
+    private final Timeline refreshTimer = new Timeline(new KeyFrame(Duration.seconds(1), event -> refresh()));
+    // One snapshot per refresh, newest last, so that the recent windows can be computed by subtraction
+    private final Deque<MetricsSnapshot> history = new ArrayDeque<>();
+    private MetricsSnapshot shown;
+
+    @FXML
+    public void initialize() {
+        windowBox.getItems().addAll(SINCE_START, LAST_10_SECONDS, LAST_MINUTE);
+        windowBox.setValue(LAST_10_SECONDS);
+        windowBox.valueProperty().addListener((obs, oldValue, newValue) -> show());
+
+        colOperation.setCellValueFactory(new PropertyValueFactory<>("name"));
+        colCalls.setCellValueFactory(new PropertyValueFactory<>("calls"));
+        colFailures.setCellValueFactory(new PropertyValueFactory<>("failures"));
+        showDecimal(colRate, "rate", "%.1f");
+        showDecimal(colP50, "p50", "%.3f");
+        showDecimal(colP99, "p99", "%.3f");
+        showDecimal(colMax, "max", "%.3f");
+        colMetric.setCellValueFactory(new PropertyValueFactory<>("name"));
+        colValue.setCellValueFactory(new PropertyValueFactory<>("value"));
+
+        // Only available when the application was started with --jfr
+        dumpRecordingButton.setDisable(FlightRecording.getActive() == null);
+
+        refreshTimer.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public void setStudentService(AsyncStudentService service) {
+        this.metrics = service.getService().getMetrics();
+    }
+
+    // Only poll while the view is on screen
+    @Override
+    public void onShow() {
+        // Snapshots stopped while hidden, so the recent windows start over
+        history.clear();
+        refresh();
+        refreshTimer.play();
+    }
+
+    @Override
+    public void onHide() {
+        refreshTimer.stop();
+    }
+
+    private void refresh() {
+        history.addLast(metrics.snapshot());
+        while (history.size() > 61) {
+            history.removeFirst();
+        }
+        show();
+    }
+
+    private void show() {
+        if (history.isEmpty()) {
+            return;
+        }
+        MetricsSnapshot latest = history.getLast();
+        shown = latest.since(baseline());
+
+        List<TimerRow> timers = new ArrayList<>();
+        shown.getTimers().forEach((name, timer) -> timers.add(new TimerRow(name, timer, shown.getIntervalSeconds())));
+        timerTable.getItems().setAll(timers);
+
+        List<ValueRow> values = new ArrayList<>();
+        shown.getCounters().forEach((name, value) -> values.add(new ValueRow(name, String.format("%,d", value))));
+        shown.getGauges().forEach((name, value) -> values.add(new ValueRow(name, formatGauge(value))));
+        valueTable.getItems().setAll(values);
+
+        long calls = timers.stream().mapToLong(TimerRow::getCalls).sum();
+        summaryLabel.setText(String.format("%,d timed calls over %.0f s", calls, shown.getIntervalSeconds()));
+    }
+
+    // The snapshot the chosen window is measured from (null means since start)
+    private MetricsSnapshot baseline() {
+        int back = switch (windowBox.getValue()) {
+            case LAST_10_SECONDS -> 10;
+            case LAST_MINUTE -> 60;
+            default -> 0;
+        };
+        if (back == 0 || history.size() < 2) {
+            return null;
+        }
+        int skip = Math.max(0, history.size() - 1 - back);
+        return history.stream().skip(skip).findFirst().orElse(null);
+    }
+
+    @FXML
+    private void handleSaveSnapshot() {
+        if (shown == null) {
+            return;
+        }
+        Path file = Path.of("data", "diagnostics", "metrics-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".txt");
+        try {
+            shown.writeTo(file);
+            showAlert(Alert.AlertType.INFORMATION, "Snapshot Saved", "Metrics written to " + file);
+        } catch (Exception e) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Could not save the snapshot: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void handleDumpRecording() {
+        FlightRecording recording = FlightRecording.getActive();
+        if (recording == null) {
+            return;
+        }
+        try {
+            Path file = recording.dump();
+            showAlert(Alert.AlertType.INFORMATION, "Recording Saved", "Flight recording written to " + file);
+        } catch (Exception e) {
+            showAlert(Alert.AlertType.ERROR, "Error", "Could not dump the flight recording: " + e.getMessage());
+        }
+    }
+
+    private static String formatGauge(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value)
+                ? String.format("%,d", (long) value) : String.format("%,.3f", value);
+    }
+
+    private static <T> void showDecimal(TableColumn<T, Double> column, String property, String format) {
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double value, boolean empty) {
+                super.updateItem(value, empty);
+                setText(empty || value == null ? null : String.format(format, value));
+            }
+        });
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
+    }
+
+    /** One latency timer, as shown in the table. */
+    public static class TimerRow {
+        private final String name;
+        private final long calls;
+        private final long failures;
+        private final double rate;
+        private final double p50;
+        private final double p99;
+        private final double max;
+
+        TimerRow(String name, TimerSnapshot timer, double seconds) {
+            this.name = name;
+            this.calls = timer.getCount();
+            this.failures = timer.getFailures();
+            this.rate = timer.getCount() / seconds;
+            this.p50 = timer.getP50Millis();
+            this.p99 = timer.getP99Millis();
+            this.max = timer.getMaxMillis();
+        }
+
+        public String getName() { return name; }
+        public long getCalls() { return calls; }
+        public long getFailures() { return failures; }
+        public double getRate() { return rate; }
+        public double getP50() { return p50; }
+        public double getP99() { return p99; }
+        public double getMax() { return max; }
+    }
+
+    /** One counter or gauge, already formatted. */
+    public static class ValueRow {
+        private final String name;
+        private final String value;
+
+        ValueRow(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getName() { return name; }
+        public String getValue() { return value; }
+    }
+}
@@ -0,0 +1,85 @@
+package com.system.ui;
+
+import com.system.domain.GpaDistribution;
+import com.system.service.AsyncStudentService;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+
+public class DistributionController implements ViewLifecycle {
+    @FXML private TableView<GpaDistribution> distributionTable;
+    @FXML private TableColumn<GpaDistribution, String> colProgramme;
+    @FXML private TableColumn<GpaDistribution, Integer> colLevel;
+    @FXML private TableColumn<GpaDistribution, Long> colCount;
+    @FXML private TableColumn<GpaDistribution, Double> colMean;
+    @FXML private TableColumn<GpaDistribution, Double> colMin;
+    @FXML private TableColumn<GpaDistribution, Double> colMax;
+    @FXML private TableColumn<GpaDistribution, Double> colStdDev;
+    @FXML private TableColumn<GpaDistribution, Double> colP10;
+    @FXML private TableColumn<GpaDistribution, Double> colMedian;
+    @FXML private TableColumn<GpaDistribution, Double> colP90;
+    @FXML private Label summaryLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private AsyncStudentService studentService;
+    private BusyIndicator busy;
+    private DataVersionCheck dataVersion;
+
+    @FXML
+    public void initialize() {
+        busy = new BusyIndicator(loadingIndicator);
+        colProgramme.setCellValueFactory(new PropertyValueFactory<>("programme"));
+        colLevel.setCellValueFactory(new PropertyValueFactory<>("level"));
+        colCount.setCellValueFactory(new PropertyValueFactory<>("count"));
+        showGpa(colMean, "mean");
+        showGpa(colMin, "min");
+        showGpa(colMax, "max");
+        showGpa(colStdDev, "standardDeviation");
+        showGpa(colP10, "p10");
+        showGpa(colMedian, "median");
+        showGpa(colP90, "p90");
+    }
+
+    public void setStudentService(AsyncStudentService service) {
+        this.studentService = service;
+        this.dataVersion = new DataVersionCheck(service);
+    }
+
+    @Override
+    public void onShow() {
+        if (dataVersion.needsReload()) {
+            refresh();
+        }
+    }
+
+    @FXML
+    private void refresh() {
+        busy.track(studentService.getGpaDistributions()).whenComplete((distributions, error) -> {
+            if (error != null) {
+                if (!AsyncStudentService.isCancellation(error)) {
+                    summaryLabel.setText("Analytics failed: " + AsyncStudentService.unwrap(error).getMessage());
+                }
+                return;
+            }
+            distributionTable.getItems().setAll(distributions);
+            long students = distributions.stream().mapToLong(GpaDistribution::getCount).sum();
+            summaryLabel.setText(String.format("%,d students in %d programme/level groups", students, distributions.size()));
+        });
+    }
+
+    // GPA values are shown with two decimals
+    private static void showGpa(TableColumn<GpaDistribution, Double> column, String property) {
+        column.setCellValueFactory(new PropertyValueFactory<>(property));
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double value, boolean empty) {
+                super.updateItem(value, empty);
+                setText(empty || value == null ? null : String.format("%.2f", value));
+            }
+        });
+    }
+}
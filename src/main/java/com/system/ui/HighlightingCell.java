@@ -0,0 +1,67 @@
+package com.system.ui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.TableCell;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextFlow;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Table cell that shows its text with every occurrence of the current search words emphasised.
+ */
+public final class HighlightingCell<S> extends TableCell<S, String> {
+    private static final String MATCH_STYLE = "-fx-font-weight: bold; -fx-fill: #d35400;";
+
+    private final Supplier<String> query;
+
+    public HighlightingCell(Supplier<String> query) {
+        this.query = query;
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(String item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null) {
+            setText(null);
+            setGraphic(null);
+            return;
+        }
+        setText(item);
+        setGraphic(highlight(item, query.get()));
+    }
+
+    private static TextFlow highlight(String text, String query) {
+        TextFlow flow = new TextFlow();
+        boolean[] matched = new boolean[text.length()];
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        if (query != null && lowerText.length() == text.length()) {
+            for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                for (int at = lowerText.indexOf(word); at >= 0; at = lowerText.indexOf(word, at + 1)) {
+                    for (int i = at; i < at + word.length(); i++) {
+                        matched[i] = true;
+                    }
+                }
+            }
+        }
+
+        // One Text node per run of matched or unmatched characters
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            if (i == text.length() || matched[i] != matched[start]) {
+                Text run = new Text(text.substring(start, i));
+                if (matched[start]) {
+                    run.setStyle(MATCH_STYLE);
+                }
+                flow.getChildren().add(run);
+                start = i;
+            }
+        }
+        return flow;
+    }
+}
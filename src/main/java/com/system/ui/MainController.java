@@ -1,72 +1,223 @@
 package com.system.ui;
 
-import com.system.service.StudentService;
+import com.system.metrics.MetricsRegistry;
+import com.system.metrics.jfr.ViewLoadEvent;
+import com.system.service.AsyncStudentService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import javafx.scene.control.Label;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class MainController {
+    private static final String DASHBOARD_VIEW = "/com/system/ui/DashboardView.fxml";
+    private static final String STUDENTS_VIEW = "/com/system/ui/StudentsView.fxml";
+    private static final String GPA_ANALYTICS_VIEW = "/com/system/ui/GpaDistributionView.fxml";
+    private static final String DIAGNOSTICS_VIEW = "/com/system/ui/DiagnosticsView.fxml";
+    private static final String DATA_TOOLS_VIEW = "/com/system/ui/DataToolsView.fxml";
+    private static final String SETTINGS_VIEW = "/com/system/ui/SettingView.fxml";
+    private static final String ACADEMIC_REPORT_VIEW = "/com/system/ui/AcadamicReport.fxml";
+    // Everything reachable from the sidebar or the dashboard, in preload order
+    private static final List<String> ALL_VIEWS = List.of(DASHBOARD_VIEW, STUDENTS_VIEW, GPA_ANALYTICS_VIEW,
+            DATA_TOOLS_VIEW, SETTINGS_VIEW, DIAGNOSTICS_VIEW, ACADEMIC_REPORT_VIEW);
+
     @FXML private BorderPane mainContainer;
-    private StudentService studentService;
+    @FXML private VBox sidebar;
+    @FXML private Label startupLabel;
+    private AsyncStudentService studentService;
+
+    // Views are parsed once and kept, keyed by FXML path, so navigating back is only a node swap
+    private final Map<String, LoadedView> views = new HashMap<>();
+    private LoadedView shownView;
 
-    // This is called by Main.java to pass the service down
-    public void setStudentService(StudentService service) {
+    // This is called by Main.java to pass the service down, before the database is open
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
+    }
+
+    /**
+     * Called by Main once the schema is up to date: enables navigation and shows the first view.
+     * Until then the window only shows the sidebar and a progress indicator.
+     */
+    public void databaseReady() {
+        sidebar.setDisable(false);
         showDashboard(); // Initial view
     }
 
+    public void showStartupMessage(String message) {
+        startupLabel.setText(message);
+    }
+
     @FXML
     private void showDashboard() {
-        loadView("/com/system/ui/DashboardView.fxml");
+        loadView(DASHBOARD_VIEW);
     }
 
     @FXML
     private void showStudentList() {
-        loadView("/com/system/ui/StudentsView.fxml");
+        loadView(STUDENTS_VIEW);
+    }
+
+    @FXML
+    private void showGpaAnalytics() {
+        loadView(GPA_ANALYTICS_VIEW);
+    }
+
+    @FXML
+    private void showDiagnostics() {
+        loadView(DIAGNOSTICS_VIEW);
     }
 
     @FXML
     private void showDataTools() {
-        loadView("/com/system/ui/DataToolsView.fxml");
+        loadView(DATA_TOOLS_VIEW);
+    }
+
+    /**
+     * Parses every view not loaded yet, so that later navigation never waits for FXML.
+     * Controllers create Timelines and charts, so the parsing happens on the JavaFX thread,
+     * one view per event: clicks and frames are handled between views, and a view the user
+     * opens in the meantime is simply skipped. Completes with the number of views added.
+     */
+    public CompletableFuture<Integer> preloadViews() {
+        CompletableFuture<Integer> done = new CompletableFuture<>();
+        preloadNext(ALL_VIEWS.iterator(), 0, System.nanoTime(), done);
+        return done;
+    }
+
+    private void preloadNext(Iterator<String> remaining, int added, long start, CompletableFuture<Integer> done) {
+        Platform.runLater(() -> {
+            int total = added;
+            try {
+                String fxmlPath = remaining.hasNext() ? remaining.next() : null;
+                if (fxmlPath == null) {
+                    MetricsRegistry.getDefault().timer("ui.preloadViews").recordSince(start);
+                    done.complete(total);
+                    return;
+                }
+                if (!views.containsKey(fxmlPath)) {
+                    LoadedView view = parse(fxmlPath);
+                    connect(view);
+                    views.put(fxmlPath, view);
+                    total++;
+                }
+            } catch (IOException | RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            preloadNext(remaining, total, start, done);
+        });
     }
 
     private void loadView(String fxmlPath) {
+        // Timed from the click until the view is attached, including the FXML parse on a first visit
+        long start = System.nanoTime();
+        ViewLoadEvent event = new ViewLoadEvent();
+        event.begin();
+        LoadedView view = views.get(fxmlPath);
+        boolean cached = view != null;
+        boolean succeeded = false;
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Node view = loader.load();
-
-            // Pass the service to the sub-controller dynamically
-            // ... inside loadView after loader.load()
-            Object controller = loader.getController();
-
-            if (controller instanceof StudentController) {
-                ((StudentController) controller).setStudentService(studentService);
-            } else if (controller instanceof DashboardController) {
-                ((DashboardController) controller).setStudentService(studentService);
-            } else if (controller instanceof DataToolsController) {
-                ((DataToolsController) controller).setStudentService(studentService);
-            } else if (controller instanceof SettingsController) {
-                ((SettingsController) controller).setStudentService(studentService);
-            } else if (controller instanceof ReportController) {
-                ((ReportController) controller).setStudentService(studentService);
+            if (view == null) {
+                view = parse(fxmlPath);
+                connect(view);
+                views.put(fxmlPath, view);
+                MetricsRegistry.getDefault().timer("ui.loadView." + view.name).recordSince(start);
             }
-            mainContainer.setCenter(view);
+            show(view);
+            succeeded = true;
+            MetricsRegistry.getDefault().timer("ui.showView." + view.name).recordSince(start);
         } catch (IOException e) {
+            MetricsRegistry.getDefault().timer("ui.loadView.failed").recordSince(start);
             System.err.println("Error loading FXML: " + fxmlPath);
             e.printStackTrace();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fxmlPath = fxmlPath;
+                event.cached = cached;
+                event.succeeded = succeeded;
+                event.controller = succeeded && view.controller != null ? view.controller.getClass().getSimpleName() : null;
+                event.commit();
+            }
         }
     }
-    // Inside MainController.java
-    @FXML // This is the 'glue' that connects FXML to Java
+
+    private LoadedView parse(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+        Node node = loader.load();
+        return new LoadedView(fxmlPath, node, loader.getController());
+    }
+
+    // Pass the service to the sub-controller dynamically; done once per view, on the JavaFX thread
+    private void connect(LoadedView view) {
+        Object controller = view.controller;
+
+        if (controller instanceof StudentController) {
+            ((StudentController) controller).setStudentService(studentService);
+        } else if (controller instanceof DashboardController) {
+            ((DashboardController) controller).setStudentService(studentService);
+            ((DashboardController) controller).setMainController(this);
+        } else if (controller instanceof DataToolsController) {
+            ((DataToolsController) controller).setStudentService(studentService);
+        } else if (controller instanceof SettingsController) {
+            ((SettingsController) controller).setStudentService(studentService);
+        } else if (controller instanceof ReportController) {
+            ((ReportController) controller).setStudentService(studentService);
+        } else if (controller instanceof DistributionController) {
+            ((DistributionController) controller).setStudentService(studentService);
+        } else if (controller instanceof DiagnosticsController) {
+            ((DiagnosticsController) controller).setStudentService(studentService);
+        }
+    }
+
+    private void show(LoadedView view) {
+        if (view == shownView) {
+            // Clicking the current view again refreshes it
+            if (view.controller instanceof ViewLifecycle lifecycle) {
+                lifecycle.onShow();
+            }
+            return;
+        }
+        if (shownView != null && shownView.controller instanceof ViewLifecycle lifecycle) {
+            lifecycle.onHide();
+        }
+        shownView = view;
+        mainContainer.setCenter(view.node);
+        if (view.controller instanceof ViewLifecycle lifecycle) {
+            lifecycle.onShow();
+        }
+    }
+
+    @FXML
     private void showSettings() {
-        System.out.println(">>> DEBUG: Settings Clicked!");
-        loadView("/com/system/ui/SettingView.fxml");
+        loadView(SETTINGS_VIEW);
     }
 
     public void showAcademicReport() {
-        loadView("/com/system/ui/AcademicReport.fxml"); // Ensure this path is 100% correct
+        loadView(ACADEMIC_REPORT_VIEW);
+    }
+
+    // A parsed view with its controller
+    private static final class LoadedView {
+        final String fxmlPath;
+        final String name;
+        final Node node;
+        final Object controller;
+
+        LoadedView(String fxmlPath, Node node, Object controller) {
+            this.fxmlPath = fxmlPath;
+            this.name = fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1).replace(".fxml", "");
+            this.node = node;
+            this.controller = controller;
+        }
     }
 }
-// Inside MainController.java
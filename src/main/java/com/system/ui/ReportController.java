@@ -1,33 +1,92 @@
 package com.system.ui;
 
 import com.system.domain.Student;
-import com.system.service.StudentService;
+import com.system.domain.StudentChange;
+import com.system.service.AsyncStudentService;
 import javafx.fxml.FXML;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableView;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-public class ReportController {
+public class ReportController implements ViewLifecycle {
     @FXML
     private TableView<Student> goodStandingTable;
     @FXML private TableView<Student> atRiskTable;
+    @FXML private ProgressIndicator loadingIndicator;
 
-    private StudentService studentService;
+    private AsyncStudentService studentService;
+    private BusyIndicator busy;
+    private boolean loaded;
+    private boolean loading;
+    private boolean changedWhileLoading;
 
-    public void setStudentService(StudentService service) {
+    @FXML
+    public void initialize() {
+        busy = new BusyIndicator(loadingIndicator);
+    }
+
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
-        refreshReport();
+        service.subscribe(this::applyChanges);
+    }
+
+    // Change events keep both tables current, so the report is only generated once
+    @Override
+    public void onShow() {
+        if (!loaded && !loading) {
+            refreshReport();
+        }
     }
 
     private void refreshReport() {
-        try {
-            var data = studentService.generateAcademicReportData();
+        loading = true;
+        changedWhileLoading = false;
+        busy.track(studentService.generateAcademicReportData()).whenComplete((data, error) -> {
+            loading = false;
+            if (changedWhileLoading) {
+                refreshReport();
+                return;
+            }
+            if (error != null) {
+                if (!AsyncStudentService.isCancellation(error)) {
+                    AsyncStudentService.unwrap(error).printStackTrace();
+                }
+                return;
+            }
             // Using .getOrDefault to prevent NullPointer if a category is empty
             goodStandingTable.getItems().setAll(data.getOrDefault("Good Standing", List.of()));
             atRiskTable.getItems().setAll(data.getOrDefault("At Risk", List.of()));
-        } catch (Exception e) {
-            e.printStackTrace();
+            loaded = true;
+        });
+    }
+
+    // Changed students are taken out of both tables and put back in the one their stored status says
+    private void applyChanges(List<StudentChange> changes) {
+        if (loading) {
+            changedWhileLoading = true;
+            return;
+        }
+        if (!loaded) {
+            return;
+        }
+        if (changes.stream().anyMatch(change -> change.getType() == StudentChange.Type.RELOAD)) {
+            refreshReport();
+            return;
         }
+        Set<String> changed = changes.stream().map(StudentChange::getStudentId).collect(Collectors.toSet());
+        goodStandingTable.getItems().removeIf(student -> changed.contains(student.getStudentId()));
+        atRiskTable.getItems().removeIf(student -> changed.contains(student.getStudentId()));
+        // A student changed twice in one batch only keeps the last version
+        changes.stream()
+                .collect(Collectors.toMap(StudentChange::getStudentId, change -> change, (first, last) -> last))
+                .values().stream()
+                .map(StudentChange::getAfter)
+                .filter(student -> student != null)
+                .forEach(student -> (Student.ACTIVE.equals(student.getStatus()) ? goodStandingTable : atRiskTable)
+                        .getItems().add(student));
     }
 
     @FXML
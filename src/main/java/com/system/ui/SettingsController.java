@@ -1,36 +1,89 @@
 package com.system.ui;
 
+import com.system.service.AsyncStudentService;
 import com.system.service.StudentService;
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
 
-public class SettingsController {
+public class SettingsController implements ViewLifecycle {
     @FXML private TextField gpaThresholdField;
+    @FXML private Slider whatIfSlider;
+    @FXML private Label whatIfLabel;
 
-    // This allows the Service to know what the 'Active' cutoff is
-    public static double activeThreshold = 2.0;
+    private AsyncStudentService studentService;
 
-    private StudentService studentService;
+    @FXML
+    public void initialize() {
+        // What-if preview: counts come from the GPA histogram, so they can follow the slider live
+        whatIfSlider.valueProperty().addListener((obs, oldValue, newValue) -> previewThreshold(newValue.doubleValue()));
+    }
 
-    public void setStudentService(StudentService service) {
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
-        gpaThresholdField.setText(String.valueOf(activeThreshold));
+    }
+
+    @Override
+    public void onShow() {
+        // The 'Active' cutoff is a saved setting, read from the database
+        studentService.getActiveThreshold().whenComplete((threshold, error) -> {
+            if (error != null) {
+                AsyncStudentService.unwrap(error).printStackTrace();
+                return;
+            }
+            gpaThresholdField.setText(String.valueOf(threshold));
+            whatIfSlider.setValue(threshold);
+            // The counts may have changed even if the slider did not move
+            previewThreshold(threshold);
+        });
+    }
+
+    private void previewThreshold(double value) {
+        double threshold = Math.round(value * 100) / 100.0;
+        // Both counts in one call, so a newer slider position cancels the whole stale preview
+        studentService.submitLatest("what-if-preview", () -> {
+            StudentService service = studentService.getService();
+            return String.format("At %.2f: %,d active / %,d inactive", threshold,
+                    service.countActive(threshold), service.countInactive(threshold));
+        }).whenComplete((text, error) -> {
+            if (error == null) {
+                whatIfLabel.setText(text);
+            } else if (!AsyncStudentService.isCancellation(error)) {
+                whatIfLabel.setText("Preview unavailable: " + AsyncStudentService.unwrap(error).getMessage());
+            }
+        });
     }
 
     @FXML
     private void handleSaveSettings() {
+        double threshold;
         try {
-            activeThreshold = Double.parseDouble(gpaThresholdField.getText());
-
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Settings Saved");
-            alert.setHeaderText(null);
-            alert.setContentText("Status logic updated. Threshold: " + activeThreshold);
-            alert.showAndWait();
+            threshold = Double.parseDouble(gpaThresholdField.getText());
         } catch (NumberFormatException e) {
-            // Error feedback
-            System.out.println("Invalid number format for GPA.");
+            // Nothing is saved; the range itself is checked by the service
+            showAlert(Alert.AlertType.ERROR, "Invalid Threshold",
+                    "\"" + gpaThresholdField.getText() + "\" is not a number. Enter a GPA between 0.0 and 4.0.");
+            return;
         }
+
+        // Every stored status is updated in one statement; the counts on the dashboard follow from it
+        studentService.setActiveThreshold(threshold).whenComplete((changed, error) -> {
+            if (error != null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Could not save the threshold: " + AsyncStudentService.unwrap(error).getMessage());
+                return;
+            }
+            showAlert(Alert.AlertType.INFORMATION, "Settings Saved",
+                    String.format("Status logic updated. Threshold: %s (%,d students changed status)", threshold, changed));
+        });
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
     }
 }
\ No newline at end of file
@@ -1,20 +1,38 @@
 package com.system.ui;
 
 import com.system.domain.Student;
-import com.system.service.StudentService;
-import com.system.util.CSVUtil;
+import com.system.domain.StudentChange;
+import com.system.repository.PageKey;
+import com.system.repository.SortColumn;
+import com.system.repository.SortDirection;
+import com.system.service.AsyncStudentService;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 
 
 
-public class StudentController {
+public class StudentController implements ViewLifecycle {
     @FXML private TableColumn<Student, String> colId;
     @FXML private TableColumn<Student, String> colName;
     @FXML private TableColumn<Student, String> colProgramme;
@@ -28,10 +46,37 @@ public class StudentController {
     // Form components (matches the FXML above)
     @FXML private TextField idField, nameField, programmeField, gpaField;
     @FXML private ComboBox<Integer> levelBox;
+    @FXML private ProgressIndicator loadingIndicator;
 
-    private StudentService studentService;
+    private AsyncStudentService studentService;
+    private BusyIndicator busy;
     private boolean isEditMode = false;
 
+    // Keyset paging state for the table
+    private static final int PAGE_SIZE = 200;
+    private final ObservableList<Student> tableData = FXCollections.observableArrayList();
+    private final Map<TableColumn<Student, ?>, SortColumn> sortColumns = new HashMap<>();
+    private SortColumn sortColumn = SortColumn.STUDENT_ID;
+    private SortDirection sortDirection = SortDirection.ASCENDING;
+    private PageKey lastKey;
+    // The row lastKey was taken from: changed rows that sort after it are left to the next page
+    private Student lastLoadedRow;
+    private boolean loaded;
+    private boolean exhausted;
+    private boolean searchActive;
+    // In-flight requests, cancelled when a reload makes their results stale
+    private CompletableFuture<List<Student>> pageRequest;
+    private CompletableFuture<List<Student>> searchRequest;
+    // Changes that arrived while a page was being fetched; applied again once the page is in
+    private final List<StudentChange> changesWhilePaging = new ArrayList<>();
+    // Larger bursts (e.g. an import batch) rebuild the list once instead of inserting row by row
+    private static final int IN_PLACE_LIMIT = 100;
+
+    // Search as you type: wait for a short pause in typing before querying
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(150);
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    private String highlightQuery = "";
+
     @FXML
     public void initialize() {
         // These strings MUST match the variable names in your Student.java class exactly
@@ -41,43 +86,72 @@ public class StudentController {
         colLevel.setCellValueFactory(new PropertyValueFactory<>("level"));
         colGpa.setCellValueFactory(new PropertyValueFactory<>("gpa"));
         colStatus.setCellValueFactory(new PropertyValueFactory<>("status"));
+        colId.setCellFactory(column -> new HighlightingCell<>(() -> highlightQuery));
+        colName.setCellFactory(column -> new HighlightingCell<>(() -> highlightQuery));
 
         levelBox.getItems().addAll(100, 200, 300, 400, 500, 600, 700);
+        busy = new BusyIndicator(loadingIndicator);
+        searchDebounce.setOnFinished(event -> runSearch(searchField.getText(), true));
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
+
+        // Sorting and scrolling are served by the database page by page
+        sortColumns.put(colId, SortColumn.STUDENT_ID);
+        sortColumns.put(colName, SortColumn.FULL_NAME);
+        sortColumns.put(colProgramme, SortColumn.PROGRAMME);
+        sortColumns.put(colLevel, SortColumn.LEVEL);
+        sortColumns.put(colGpa, SortColumn.GPA);
+        sortColumns.put(colStatus, SortColumn.STATUS);
+        studentTable.setSortPolicy(this::sortInDatabase);
+        studentTable.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                Platform.runLater(this::watchScrollPosition);
+            }
+        });
     }
 
 
 
 
-    public void setStudentService(StudentService service) {
+    public void setStudentService(AsyncStudentService service) {
         this.studentService = service;
-        loadStudentData();
+        // Writes from anywhere (this form, imports, other views) are applied to the loaded rows
+        service.subscribe(this::applyChanges);
+    }
+
+    // Loaded pages, scroll position, sort order and search are kept while the view is hidden,
+    // and change events keep them current, so only the first visit loads anything
+    @Override
+    public void onShow() {
+        if (!loaded) {
+            loadStudentData();
+        }
     }
 
     @FXML
     private void handleSave() {
+        Student s = new Student();
         try {
-            Student s = new Student();
             s.setStudentId(idField.getText());
             s.setFullName(nameField.getText());
             s.setProgramme(programmeField.getText());
             s.setLevel(levelBox.getValue() != null ? levelBox.getValue() : 0);
             s.setGpa(Double.parseDouble(gpaField.getText()));
             s.setStatus("Active");
-
-            if (isEditMode) {
-                studentService.updateStudent(s);
-            } else {
-                studentService.saveStudent(s);
-            }
-
-            clearFields();
-            loadStudentData();
-            showInfo("Success", "Student record saved successfully.");
         } catch (Exception e) {
             showError("Save Failed: " + e.getMessage());
+            return;
         }
 
-
+        CompletableFuture<Void> save = isEditMode ? studentService.updateStudent(s) : studentService.saveStudent(s);
+        busy.track(save).whenComplete((ignored, error) -> {
+            if (error != null) {
+                showError("Save Failed: " + AsyncStudentService.unwrap(error).getMessage());
+                return;
+            }
+            // The table picks up the new row from the change event
+            clearFields();
+            showInfo("Success", "Student record saved successfully.");
+        });
     }
 
     @FXML
@@ -107,30 +181,195 @@ public class StudentController {
         levelBox.setValue(null);
     }
 
+    @FXML
     public void loadStudentData() {
-        try {
-            // Fetch from Service -> Repository -> SQLite
-            List<Student> students = studentService.fetchAllStudents();
+        // Start over from the first page in the current sort order
+        loaded = true;
+        CompletableFuture<?> stalePage = pageRequest;
+        CompletableFuture<?> staleSearch = searchRequest;
+        pageRequest = null;
+        searchRequest = null;
+        cancel(stalePage);
+        cancel(staleSearch);
+        searchActive = false;
+        highlightQuery = "";
+        tableData.clear();
+        lastKey = null;
+        lastLoadedRow = null;
+        changesWhilePaging.clear();
+        exhausted = false;
+        studentTable.setItems(tableData);
+        loadNextPage();
+    }
 
-            // Wrap the list in an ObservableList so JavaFX can "see" the changes
-            ObservableList<Student> data = FXCollections.observableArrayList(students);
-            studentTable.setItems(data);
-            studentTable.refresh(); // Force a UI redraw
-        } catch (Exception e) {
-            showError("Could not refresh table: " + e.getMessage());
+    /**
+     * Appends the next page of students. Called when the table opens and whenever
+     * the user scrolls close to the bottom of what has been loaded so far.
+     */
+    private void loadNextPage() {
+        if (searchActive || exhausted || studentService == null || pageRequest != null) {
+            return;
         }
-        try {
-            List<Student> students = studentService.fetchAllStudents();
-            System.out.println("DEBUG: Found " + students.size() + " students in database.");
+        CompletableFuture<List<Student>> request =
+                studentService.fetchStudentsPage(sortColumn, sortDirection, lastKey, PAGE_SIZE);
+        pageRequest = request;
+        busy.track(request).whenComplete((page, error) -> {
+            if (pageRequest != request) {
+                return; // Superseded by a reload
+            }
+            pageRequest = null;
+            if (error != null) {
+                exhausted = true;
+                showError("Could not load data: " + AsyncStudentService.unwrap(error).getMessage());
+                return;
+            }
+            List<Student> rows = page;
+            if (!changesWhilePaging.isEmpty()) {
+                // The page may hold rows from before those changes; they are put back below
+                Set<String> changed = changesWhilePaging.stream().map(StudentChange::getStudentId).collect(Collectors.toSet());
+                rows = page.stream().filter(student -> !changed.contains(student.getStudentId())).toList();
+            }
+            tableData.addAll(rows);
+            exhausted = page.size() < PAGE_SIZE;
+            if (!page.isEmpty()) {
+                lastLoadedRow = page.get(page.size() - 1);
+                lastKey = PageKey.after(lastLoadedRow, sortColumn);
+            }
+            if (!changesWhilePaging.isEmpty()) {
+                Collection<StudentChange> pending = latestById(changesWhilePaging).values();
+                changesWhilePaging.clear();
+                applyDelta(pending);
+            }
+        });
+    }
 
-            if (!students.isEmpty()) {
-                System.out.println("DEBUG: First student name is: " + students.get(0).getFullName());
+    /**
+     * Applies committed writes to the rows on screen without asking the database again.
+     * One call per JavaFX pulse, however many writes were made since the previous one.
+     */
+    private void applyChanges(List<StudentChange> changes) {
+        if (!loaded) {
+            return; // Nothing on screen yet; the first load will include these writes
+        }
+        if (changes.stream().anyMatch(change -> change.getType() == StudentChange.Type.RELOAD)) {
+            // Set-based change (e.g. a new GPA threshold): no per-row delta to apply
+            if (searchActive) {
+                runSearch(searchField.getText(), false);
+            } else {
+                loadStudentData();
             }
+            return;
+        }
 
-            studentTable.setItems(FXCollections.observableArrayList(students));
-        } catch (Exception e) {
-            System.out.println("DEBUG ERROR: " + e.getMessage());
-            showError("Could not load data: " + e.getMessage());
+        Map<String, StudentChange> latest = latestById(changes);
+        if (searchActive) {
+            // Search results are ranked by the database: update and remove rows, but don't guess where new ones go
+            List<Student> items = studentTable.getItems();
+            for (int i = items.size() - 1; i >= 0; i--) {
+                StudentChange change = latest.get(items.get(i).getStudentId());
+                if (change == null) {
+                    continue;
+                }
+                if (change.getType() == StudentChange.Type.DELETED) {
+                    items.remove(i);
+                } else {
+                    items.set(i, change.getAfter());
+                }
+            }
+            return;
+        }
+        if (pageRequest != null) {
+            changesWhilePaging.addAll(latest.values());
+        }
+        applyDelta(latest.values());
+    }
+
+    // Removes every changed row and puts back the new version where the sort order says, if that is
+    // within the loaded pages. Applying the same changes twice gives the same result.
+    private void applyDelta(Collection<StudentChange> changes) {
+        Comparator<Student> order = sortColumn.comparator(sortDirection);
+        Set<String> changed = changes.stream().map(StudentChange::getStudentId).collect(Collectors.toSet());
+        List<Student> incoming = new ArrayList<>();
+        for (StudentChange change : changes) {
+            Student after = change.getAfter();
+            if (after != null && (exhausted || (lastLoadedRow != null && order.compare(after, lastLoadedRow) <= 0))) {
+                incoming.add(after);
+            }
+        }
+
+        if (changes.size() > IN_PLACE_LIMIT) {
+            List<Student> rows = new ArrayList<>(tableData.size() + incoming.size());
+            for (Student student : tableData) {
+                if (!changed.contains(student.getStudentId())) {
+                    rows.add(student);
+                }
+            }
+            rows.addAll(incoming);
+            rows.sort(order);
+            tableData.setAll(rows);
+            return;
+        }
+        for (int i = tableData.size() - 1; i >= 0; i--) {
+            if (changed.contains(tableData.get(i).getStudentId())) {
+                tableData.remove(i);
+            }
+        }
+        for (Student student : incoming) {
+            int at = Collections.binarySearch(tableData, student, order);
+            tableData.add(at < 0 ? -at - 1 : at, student);
+        }
+    }
+
+    // The last change per student, in the order of those last changes
+    private static Map<String, StudentChange> latestById(List<StudentChange> changes) {
+        Map<String, StudentChange> latest = new LinkedHashMap<>();
+        for (StudentChange change : changes) {
+            latest.remove(change.getStudentId());
+            latest.put(change.getStudentId(), change);
+        }
+        return latest;
+    }
+
+    private static void cancel(CompletableFuture<?> request) {
+        if (request != null) {
+            request.cancel(true);
+        }
+    }
+
+    /**
+     * Sort policy for the table: instead of sorting the loaded rows in memory,
+     * reload from the first page with ORDER BY pushed down to the database.
+     */
+    private boolean sortInDatabase(TableView<Student> table) {
+        SortColumn column = SortColumn.STUDENT_ID;
+        SortDirection direction = SortDirection.ASCENDING;
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<Student, ?> sortedBy = table.getSortOrder().get(0);
+            column = sortColumns.getOrDefault(sortedBy, SortColumn.STUDENT_ID);
+            direction = sortedBy.getSortType() == TableColumn.SortType.DESCENDING
+                    ? SortDirection.DESCENDING : SortDirection.ASCENDING;
+        }
+        // The table also calls the policy when its items change; only reload when the order really changed
+        if (column != sortColumn || direction != sortDirection) {
+            sortColumn = column;
+            sortDirection = direction;
+            if (!searchActive) {
+                loadStudentData();
+            }
+        }
+        return true;
+    }
+
+    // Loads the next page once the vertical scroll bar is 90% of the way down
+    private void watchScrollPosition() {
+        for (Node node : studentTable.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= bar.getMax() * 0.9) {
+                        loadNextPage();
+                    }
+                });
+            }
         }
     }
 
@@ -150,34 +389,53 @@ public class StudentController {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    studentService.removeStudent(selected.getStudentId());
-                    loadStudentData();
+                busy.track(studentService.removeStudent(selected.getStudentId())).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        showError("Delete failed: " + AsyncStudentService.unwrap(error).getMessage());
+                        return;
+                    }
+                    // The row disappears through the change event
                     clearFields();
                     showInfo("Deleted", "Student record removed successfully.");
-                } catch (Exception e) {
-                    showError("Delete failed: " + e.getMessage());
-                }
+                });
             }
         });
     }
 
+    // Search button / Enter: full-text search in the database (also matches programme and email)
     @FXML
     private void handleSearch() {
-        String query = searchField.getText();
+        searchDebounce.stop();
+        runSearch(searchField.getText(), false);
+    }
+
+    private void runSearch(String query, boolean typeAhead) {
         if (query == null || query.trim().isEmpty()) {
-            loadStudentData();
+            if (searchActive || searchRequest != null) {
+                loadStudentData();
+            }
             return;
         }
 
-        try {
-            // Requirement 5.1.5: Search by ID or name
-            List<Student> results = studentService.search(query);
-            studentTable.setItems(javafx.collections.FXCollections.observableArrayList(results));
-        } catch (Exception e) {
-            showError("Search failed: " + e.getMessage());
-        }
-
+        // Requirement 5.1.5: Search by ID or name. A newer search cancels the one still running.
+        CompletableFuture<List<Student>> request = typeAhead
+                ? studentService.searchAsYouType(query) : studentService.search(query);
+        searchRequest = request;
+        busy.track(request).whenComplete((results, error) -> {
+            if (searchRequest != request) {
+                return;
+            }
+            searchRequest = null;
+            if (error != null) {
+                if (!AsyncStudentService.isCancellation(error)) {
+                    showError("Search failed: " + AsyncStudentService.unwrap(error).getMessage());
+                }
+                return;
+            }
+            searchActive = true;
+            highlightQuery = query;
+            studentTable.setItems(FXCollections.observableArrayList(results));
+        });
     }
 
     // Helper methods for UI feedback [cite: 135]
@@ -208,14 +466,14 @@ public class StudentController {
     }
     @FXML
     private void handleExport() {
-        try {
-            List<Student> students = studentService.fetchAllStudents();
-            // You can use a FileChooser here for a professional touch
-            CSVUtil.exportToCSV(students, "data/exported_students.csv");
+        // You can use a FileChooser here for a professional touch
+        busy.track(studentService.exportToCSV("data/exported_students.csv")).whenComplete((rows, error) -> {
+            if (error != null) {
+                showError("Export Failed: " + AsyncStudentService.unwrap(error).getMessage());
+                return;
+            }
             showInfo("Export Successful", "Data saved to data/exported_students.csv");
-        } catch (Exception e) {
-            showError("Export Failed: " + e.getMessage());
-        }
+        });
     }
 
     // Add this inside your StudentController class
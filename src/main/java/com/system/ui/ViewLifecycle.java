@@ -0,0 +1,16 @@
+package com.system.ui;
+
+/**
+ * Implemented by controllers of views that MainController caches.
+ * A view is loaded once and then reused, so work that used to happen on every load
+ * (fetching data, starting timers) belongs in onShow, and onHide should stop anything
+ * that is only useful while the view is on screen.
+ */
+public interface ViewLifecycle {
+    // Called on the JavaFX thread every time the view is put on screen, after setStudentService
+    void onShow();
+
+    // Called on the JavaFX thread when another view replaces this one
+    default void onHide() {
+    }
+}
@@ -1,12 +1,11 @@
 package com.system.util;
 
 import com.system.domain.Student;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class CSVUtil {
 
@@ -14,60 +13,50 @@ public class CSVUtil {
      * Requirement 5.2: Export student data to CSV
      */
     public static void exportToCSV(List<Student> students, String filePath) throws Exception {
-        try (PrintWriter writer = new PrintWriter(filePath)) {
-            // Write Header
-            writer.println("Student ID,Full Name,Programme,Level,GPA,Status");
-
+        try (CsvStudentWriter writer = new CsvStudentWriter(filePath)) {
             for (Student s : students) {
-                writer.printf("%s,%s,%s,%d,%.2f,%s%n",
-                        s.getStudentId(),
-                        s.getFullName(),
-                        s.getProgramme(),
-                        s.getLevel(),
-                        s.getGpa(),
-                        s.getStatus()
-                );
+                writer.write(s);
             }
         }
     }
 
     /**
      * Requirement 5.2: Import students from a CSV file
+     * Quoted fields may contain commas; columns are matched by the header names (see CsvColumnMapping).
+     * Students come back in file order.
+     *
+     * A file written by exportToCSV reads back with the same ID, name, programme, level and status,
+     * but the GPA is rounded to two decimals and email, phone and date added are not exported
+     * (the date added becomes the time of the import).
+     *
+     * Throws IllegalArgumentException naming the line of the first malformed row, including rows
+     * with too few columns, which older versions skipped silently. Use CsvImportPipeline to import
+     * the valid rows and report the rest.
      */
     public static List<Student> importFromCSV(String filePath) throws Exception {
-        List<Student> students = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean isHeader = true;
-
-            while ((line = reader.readLine()) != null) {
-                // Skip the first line (ID, Name, etc.) to avoid NumberFormatExceptions
-                if (isHeader) {
-                    isHeader = false;
-                    continue;
+        Path file = Path.of(filePath);
+        MappedCsvReader reader = new MappedCsvReader();
+        CsvColumnMapping mapping = CsvColumnMapping.fromHeader(reader.readHeader(file));
+        // Chunks are parsed in parallel; keyed by file offset to put them back in order
+        Map<Long, List<Student>> chunks = new ConcurrentSkipListMap<>();
+        reader.read(file, chunk -> {
+            List<Student> students = new ArrayList<>();
+            long firstRow = -1;
+            while (chunk.nextRow()) {
+                if (firstRow < 0) {
+                    firstRow = chunk.rowOffset();
                 }
-
-                // Split by comma
-                String[] data = line.split(",");
-
-                // Ensure the row has enough columns before processing
-                if (data.length >= 6) {
-                    Student s = new Student();
-                    s.setStudentId(data[0].trim());
-                    s.setFullName(data[1].trim());
-                    s.setProgramme(data[2].trim());
-                    s.setLevel(Integer.parseInt(data[3].trim()));
-                    s.setGpa(Double.parseDouble(data[4].trim()));
-                    s.setStatus(data[5].trim());
-
-                    // Set default values for fields usually not in basic CSVs
-                    s.setDateAdded(LocalDateTime.now());
-
-                    students.add(s);
+                try {
+                    students.add(mapping.toStudent(chunk));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + chunk.lineNumber() + ": " + e.getMessage(), e);
                 }
             }
-        }
+            chunks.put(firstRow, students);
+        });
+
+        List<Student> students = new ArrayList<>();
+        chunks.values().forEach(students::addAll);
         return students;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.system.util;
+
+import com.system.domain.Student;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Which CSV column holds which Student field, and the conversion of one parsed row into a Student.
+ *
+ * Usually built from the header with fromHeader(), which recognises the column names of the CSV
+ * export and common variants ("Student ID", "student_id", "Phone", ...) in any order. Columns can
+ * also be assigned by hand with map(). Unmapped optional fields stay empty; a row without a
+ * date added gets the time of the import.
+ */
+public class CsvColumnMapping {
+
+    public enum Field {
+        STUDENT_ID(true, "studentid", "id"),
+        FULL_NAME(true, "fullname", "name"),
+        PROGRAMME(true, "programme", "program"),
+        LEVEL(true, "level"),
+        GPA(true, "gpa"),
+        EMAIL(false, "email"),
+        PHONE_NUMBER(false, "phonenumber", "phone"),
+        STATUS(false, "status"),
+        DATE_ADDED(false, "dateadded");
+
+        private final boolean required;
+        private final List<String> names;
+
+        Field(boolean required, String... names) {
+            this.required = required;
+            this.names = List.of(names);
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+    }
+
+    private final int[] columns = new int[Field.values().length];
+
+    public CsvColumnMapping() {
+        Arrays.fill(columns, -1);
+    }
+
+    /**
+     * The layout written by CsvStudentWriter: ID, name, programme, level, GPA, status.
+     */
+    public static CsvColumnMapping exportLayout() {
+        return new CsvColumnMapping()
+                .map(Field.STUDENT_ID, 0)
+                .map(Field.FULL_NAME, 1)
+                .map(Field.PROGRAMME, 2)
+                .map(Field.LEVEL, 3)
+                .map(Field.GPA, 4)
+                .map(Field.STATUS, 5);
+    }
+
+    /**
+     * Maps columns by their header names, ignoring case, spaces and punctuation. When the header
+     * does not name every required field, the export layout is assumed (the columns are positional).
+     */
+    public static CsvColumnMapping fromHeader(List<String> header) {
+        CsvColumnMapping mapping = new CsvColumnMapping();
+        for (int column = 0; column < header.size(); column++) {
+            String name = normalize(header.get(column));
+            for (Field field : Field.values()) {
+                if (mapping.columnOf(field) < 0 && field.names.contains(name)) {
+                    mapping.map(field, column);
+                    break;
+                }
+            }
+        }
+        return mapping.hasRequiredFields() ? mapping : exportLayout();
+    }
+
+    public CsvColumnMapping map(Field field, int column) {
+        columns[field.ordinal()] = column;
+        return this;
+    }
+
+    // -1 when the field is not in the file
+    public int columnOf(Field field) {
+        return columns[field.ordinal()];
+    }
+
+    public boolean hasRequiredFields() {
+        for (Field field : Field.values()) {
+            if (field.isRequired() && columnOf(field) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds a Student from the chunk's current row. Throws IllegalArgumentException
+     * (or NumberFormatException) when the row is malformed.
+     */
+    public Student toStudent(MappedCsvReader.Chunk row) {
+        Student s = new Student();
+        s.setStudentId(row.text(columnOf(Field.STUDENT_ID)));
+        s.setFullName(row.text(columnOf(Field.FULL_NAME)));
+        s.setProgramme(row.text(columnOf(Field.PROGRAMME)));
+        s.setLevel(row.intValue(columnOf(Field.LEVEL)));
+        s.setGpa(row.doubleValue(columnOf(Field.GPA)));
+        s.setEmail(optionalText(row, Field.EMAIL));
+        s.setPhoneNumber(optionalText(row, Field.PHONE_NUMBER));
+        s.setStatus(optionalText(row, Field.STATUS));
+
+        String dateAdded = optionalText(row, Field.DATE_ADDED);
+        try {
+            s.setDateAdded(dateAdded == null ? LocalDateTime.now() : LocalDateTime.parse(dateAdded));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date added is not an ISO date and time: \"" + dateAdded + "\".");
+        }
+        return s;
+    }
+
+    private String optionalText(MappedCsvReader.Chunk row, Field field) {
+        int column = columnOf(field);
+        return column < 0 ? null : row.textOrNull(column);
+    }
+
+    private static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,151 @@
+package com.system.util;
+
+import com.system.domain.Student;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requirement 5.2: Export student data to CSV, one row at a time.
+ *
+ * Writes the same columns as the original printf based export, but formats numbers by hand into
+ * a reusable char buffer and goes through a 1 MiB buffered writer, so exporting is bound by I/O.
+ * Numbers are always written with a '.' decimal separator, independent of the default locale.
+ * Text containing a comma, quote, line break or surrounding blanks is quoted as in RFC 4180,
+ * so it reads back unchanged with MappedCsvReader.
+ */
+public class CsvStudentWriter implements Closeable {
+    public static final String HEADER = "Student ID,Full Name,Programme,Level,GPA,Status";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Writer out;
+    private final char[] digits = new char[20];
+    private long rowsWritten;
+
+    public CsvStudentWriter(String filePath) throws IOException {
+        this(new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8));
+    }
+
+    public CsvStudentWriter(Writer target) throws IOException {
+        this.out = new BufferedWriter(target, BUFFER_SIZE);
+        out.write(HEADER);
+        out.write(NEW_LINE);
+    }
+
+    public void write(Student s) throws IOException {
+        writeText(s.getStudentId());
+        out.write(',');
+        writeText(s.getFullName());
+        out.write(',');
+        writeText(s.getProgramme());
+        out.write(',');
+        writeLong(s.getLevel());
+        out.write(',');
+        writeTwoDecimals(s.getGpa());
+        out.write(',');
+        writeText(s.getStatus());
+        out.write(NEW_LINE);
+        rowsWritten++;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (isBlank(value.charAt(0)) || isBlank(value.charAt(value.length() - 1))) {
+            return true; // Unquoted fields are trimmed on import
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        out.write(digits, pos, digits.length - pos);
+    }
+
+    /*
+     * Same output as "%.2f", which rounds the shortest decimal form of the double half-up
+     * (1.005 -> "1.01", although the double is slightly below 1.005). Math.round on value * 100
+     * agrees unless the value is that close to a half (or large); those go through BigDecimal,
+     * which rounds the same decimal form.
+     */
+    private void writeTwoDecimals(double value) throws IOException {
+        double scaled = Math.abs(value) * 100;
+        if (!(scaled < 1e15)) {
+            // NaN, infinity and huge values, far outside any GPA
+            out.write(String.format(Locale.ROOT, "%.2f", value));
+            return;
+        }
+        long hundredths;
+        if (scaled < 1e9 && Math.abs(scaled - Math.floor(scaled) - 0.5) > 1e-6) {
+            hundredths = Math.round(scaled);
+        } else {
+            hundredths = BigDecimal.valueOf(Math.abs(value)).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        if (Math.copySign(1.0, value) < 0) {
+            // Formatter keeps the sign of values that round to zero: "-0.00"
+            out.write('-');
+        }
+        writeLong(hundredths / 100);
+        out.write('.');
+        int fraction = (int) (hundredths % 100);
+        out.write((char) ('0' + fraction / 10));
+        out.write((char) ('0' + fraction % 10));
+    }
+}
@@ -0,0 +1,697 @@
+package com.system.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * RFC 4180 CSV reader that memory maps the file and parses newline-aligned chunks in parallel.
+ *
+ * Reading runs in two parallel passes over fixed-size byte ranges. A range may start anywhere in a
+ * row, even inside a quoted field, so the first pass runs the parser's state machine over each range
+ * from every possible starting state at once (see COMBINED_STATES) and records, per starting state,
+ * where the first row begins and which state the range ends in. Chaining those
+ * ranges from the start of the file picks the real row boundaries, so a quoted line break never
+ * splits a row. The second pass hands every row-aligned chunk to a ChunkVisitor on the fork/join pool.
+ *
+ * Fields are located by byte offset and decoded straight from the mapping: numbers are parsed
+ * from the bytes, and text is only turned into a String for the fields that are asked for.
+ * The first pass reads its ranges with plain positional reads; each chunk of the second pass is
+ * one mapping. Mappings are only released by the garbage collector, so a file is never split
+ * into more than MAX_CHUNKS chunks, far below the per-process limit on mappings
+ * (vm.max_map_count, 65530 by default on Linux), whatever the chunk size.
+ * Quoted fields may contain commas, line breaks and doubled quotes. Unquoted fields are trimmed.
+ * The first row is the header; blank lines are skipped. A UTF-8 byte order mark is ignored.
+ */
+public class MappedCsvReader {
+    private static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+    private static final int MAX_CHUNKS = 4096;
+    private static final int SCAN_BLOCK = 64 << 10;
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    // Parser states, as seen by the first pass
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_SEEN = 3;
+    private static final int AFTER_QUOTED = 4;
+    private static final int STATES = 5;
+
+    // Byte classes for the first pass; all other bytes are ORDINARY
+    private static final int ORDINARY = 0;
+    private static final int QUOTE_CLASS = 1;
+    private static final int FIELD_END = 2;
+    private static final int LINE_END = 3;
+    private static final int CLASSES = 4;
+    private static final byte[] BYTE_CLASS = new byte[256];
+
+    /*
+     * The first pass follows every start state at once. A combined state lists the current state
+     * for each start state; the few that are reachable are numbered here (0 = each start state
+     * itself) with a transition table, so the scan costs one lookup per quote or separator.
+     */
+    private static final List<int[]> COMBINED_STATES = new ArrayList<>();
+    private static final int[] COMBINED_NEXT;
+
+    static {
+        BYTE_CLASS[QUOTE] = QUOTE_CLASS;
+        BYTE_CLASS[COMMA] = FIELD_END;
+        BYTE_CLASS[CR] = FIELD_END;
+        BYTE_CLASS[LF] = LINE_END;
+
+        byte[] samples = {'a', QUOTE, COMMA, LF};
+        List<Integer> next = new ArrayList<>();
+        COMBINED_STATES.add(new int[] {FIELD_START, UNQUOTED, QUOTED, QUOTE_SEEN, AFTER_QUOTED});
+        for (int combined = 0; combined < COMBINED_STATES.size(); combined++) {
+            for (byte sample : samples) {
+                int[] states = COMBINED_STATES.get(combined).clone();
+                for (int start = 0; start < STATES; start++) {
+                    states[start] = nextState(states[start], sample);
+                }
+                int index = indexOf(states);
+                if (index < 0) {
+                    index = COMBINED_STATES.size();
+                    COMBINED_STATES.add(states);
+                }
+                next.add(index);
+            }
+        }
+        COMBINED_NEXT = next.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @FunctionalInterface
+    public interface ChunkVisitor {
+        /**
+         * Called once per chunk, on a pool thread; step through the rows with chunk.nextRow().
+         * Chunks are visited in no particular order and concurrently, so the visitor must be thread safe.
+         */
+        void visit(Chunk chunk) throws Exception;
+    }
+
+    private final ForkJoinPool pool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public MappedCsvReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MappedCsvReader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Target chunk size in bytes; a chunk grows to the end of the row it ends in.
+    // Files that would need more than MAX_CHUNKS chunks get larger ones.
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * The header row's fields, or an empty list for an empty file.
+     */
+    public List<String> readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Chunk header = headerChunk(channel);
+            List<String> names = new ArrayList<>();
+            if (header != null && header.nextRow()) {
+                for (int field = 0; field < header.fieldCount(); field++) {
+                    names.add(header.text(field));
+                }
+            }
+            return names;
+        }
+    }
+
+    /**
+     * Parses every row after the header, handing row-aligned chunks to the visitor in parallel.
+     * Blocks until all chunks are done; the first failure of any visitor is rethrown.
+     */
+    public void read(Path file, ChunkVisitor visitor) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Chunk header = headerChunk(channel);
+            if (header == null || !header.nextRow()) {
+                return;
+            }
+            long dataStart = header.rowEnd;
+            long firstLine = header.nextLine;
+            long size = channel.size();
+            if (dataStart >= size) {
+                return;
+            }
+
+            long rangeSize = Math.max(chunkSize, (size - dataStart + MAX_CHUNKS - 1) / MAX_CHUNKS);
+            int ranges = (int) Math.max(1, (size - dataStart + rangeSize - 1) / rangeSize);
+            RangeScan[] scans = new RangeScan[ranges];
+            for (int i = 0; i < ranges; i++) {
+                long from = dataStart + i * rangeSize;
+                scans[i] = new RangeScan(channel, from, Math.min(size, from + rangeSize), size);
+            }
+            invoke(() -> ForkJoinTask.invokeAll(scans));
+
+            // Where each chunk starts, and the line number it starts at
+            List<long[]> starts = new ArrayList<>();
+            starts.add(new long[] {dataStart, firstLine});
+            int state = FIELD_START;
+            long lines = firstLine;
+            for (int i = 0; i < ranges; i++) {
+                RangeScan scan = scans[i];
+                if (i > 0 && scan.firstRowStart[state] >= 0) {
+                    starts.add(new long[] {scan.firstRowStart[state], lines + scan.newlinesBefore[state] + 1});
+                }
+                state = scan.endState[state];
+                lines += scan.newlines;
+            }
+
+            ParseRange[] parses = new ParseRange[starts.size()];
+            for (int i = 0; i < parses.length; i++) {
+                long end = i + 1 < parses.length ? starts.get(i + 1)[0] : size;
+                parses[i] = new ParseRange(channel, starts.get(i)[0], end, starts.get(i)[1], visitor);
+            }
+            invoke(() -> ForkJoinTask.invokeAll(parses));
+        }
+    }
+
+    // Maps the start of the file, just far enough to hold the header row
+    private Chunk headerChunk(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return null;
+        }
+        // Mapping is lazy, so only the pages the header row touches are read
+        int length = (int) Math.min(size, Integer.MAX_VALUE);
+        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        boolean byteOrderMark = length >= 3
+                && (data.get(0) & 0xFF) == 0xEF && (data.get(1) & 0xFF) == 0xBB && (data.get(2) & 0xFF) == 0xBF;
+        return new Chunk(data, 0, byteOrderMark ? 3 : 0, length, 1);
+    }
+
+    // The same transitions as Chunk.parseRow
+    private static int nextState(int state, byte b) {
+        switch (state) {
+            case FIELD_START:
+                return b == QUOTE ? QUOTED : isSeparator(b) ? FIELD_START : UNQUOTED;
+            case QUOTED:
+                return b == QUOTE ? QUOTE_SEEN : QUOTED;
+            case QUOTE_SEEN:
+                // A second quote is an escaped quote; anything else closes the field
+                return b == QUOTE ? QUOTED : isSeparator(b) ? FIELD_START : AFTER_QUOTED;
+            default:
+                return isSeparator(b) ? FIELD_START : state;
+        }
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == COMMA || b == LF || b == CR;
+    }
+
+    private static int indexOf(int[] states) {
+        for (int i = 0; i < COMBINED_STATES.size(); i++) {
+            if (Arrays.equals(COMBINED_STATES.get(i), states)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void invoke(Runnable work) throws Exception {
+        try {
+            pool.invoke(ForkJoinTask.adapt(work));
+        } catch (VisitorFailure e) {
+            if (e.getCause() instanceof RuntimeException unchecked) {
+                throw unchecked;
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) {
+        try {
+            if (to - from > Integer.MAX_VALUE) {
+                throw new IOException("A single CSV row of over 2 GB is not supported.");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        } catch (IOException e) {
+            throw new VisitorFailure(e);
+        }
+    }
+
+    /**
+     * First pass over one byte range. For every state the range could start in: the file offset
+     * where the first row starts (after the first LF outside quotes, -1 if there is none),
+     * the line breaks before that one, and the state at the end of the range.
+     */
+    private static final class RangeScan extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long from;
+        private final long to;
+        private final long fileSize;
+        final long[] firstRowStart = new long[STATES];
+        final long[] newlinesBefore = new long[STATES];
+        final int[] endState = new int[STATES];
+        long newlines;
+
+        RangeScan(FileChannel channel, long from, long to, long fileSize) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.fileSize = fileSize;
+        }
+
+        @Override
+        protected void compute() {
+            int length = (int) (to - from);
+            Arrays.fill(firstRowStart, -1);
+            int combined = 0;
+            int missingRowStarts = STATES;
+            long newlineCount = 0;
+            // Scanned in heap blocks: a loop over a byte[] is much faster than one read per byte from a buffer
+            byte[] block = new byte[Math.min(length, SCAN_BLOCK) + 1];
+            for (int offset = 0; offset < length; offset += SCAN_BLOCK) {
+                int n = Math.min(SCAN_BLOCK, length - offset);
+                // One byte more when there is one, to tell a lone CR from a CRLF at the end of the block
+                int available = (int) Math.min(n + 1, fileSize - (from + offset));
+                readFully(block, available, from + offset);
+                for (int i = 0; i < n; i++) {
+                    int byteClass = BYTE_CLASS[block[i] & 0xFF];
+                    if (byteClass == ORDINARY) {
+                        int after = COMBINED_NEXT[combined * CLASSES + ORDINARY];
+                        if (after == combined) {
+                            // Ordinary bytes change nothing until the next quote or separator
+                            i = nextSpecial(block, i, n) - 1;
+                            continue;
+                        }
+                        combined = after;
+                        continue;
+                    }
+                    if (byteClass == LINE_END) {
+                        if (missingRowStarts > 0) {
+                            int[] states = COMBINED_STATES.get(combined);
+                            for (int start = 0; start < STATES; start++) {
+                                if (firstRowStart[start] < 0 && states[start] != QUOTED) {
+                                    firstRowStart[start] = from + offset + i + 1;
+                                    newlinesBefore[start] = newlineCount;
+                                    missingRowStarts--;
+                                }
+                            }
+                        }
+                        newlineCount++;
+                    } else if (block[i] == CR && !(i + 1 < available && block[i + 1] == LF)) {
+                        newlineCount++; // A lone CR ends a line too
+                    }
+                    combined = COMBINED_NEXT[combined * CLASSES + byteClass];
+                }
+            }
+            int[] states = COMBINED_STATES.get(combined);
+            System.arraycopy(states, 0, endState, 0, STATES);
+            newlines = newlineCount;
+        }
+
+        private void readFully(byte[] block, int length, long position) {
+            ByteBuffer target = ByteBuffer.wrap(block, 0, length);
+            try {
+                while (target.hasRemaining()) {
+                    if (channel.read(target, position + target.position()) < 0) {
+                        throw new IOException("The file became shorter while it was read.");
+                    }
+                }
+            } catch (IOException e) {
+                throw new VisitorFailure(e);
+            }
+        }
+
+        // Index of the next quote or separator at or after 'from', or 'to' if there is none
+        private static int nextSpecial(byte[] block, int from, int to) {
+            int i = from;
+            while (i < to && BYTE_CLASS[block[i] & 0xFF] == ORDINARY) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    // Second pass: one row-aligned chunk, handed to the visitor
+    private static final class ParseRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long from;
+        private final long to;
+        private final long firstLine;
+        private final transient ChunkVisitor visitor;
+
+        ParseRange(FileChannel channel, long from, long to, long firstLine, ChunkVisitor visitor) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.firstLine = firstLine;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= to) {
+                return;
+            }
+            Chunk chunk = new Chunk(map(channel, from, to), from, 0, (int) (to - from), firstLine);
+            try {
+                visitor.visit(chunk);
+            } catch (Exception e) {
+                // Unchecked ones too: fork/join would rethrow those as a copy whose message starts with the class name
+                throw new VisitorFailure(e);
+            }
+        }
+    }
+
+    /**
+     * A row-aligned part of the file and a cursor over its rows. After nextRow() returns true,
+     * the accessors describe the current row. Not thread safe; each chunk is visited by one thread.
+     */
+    public static final class Chunk {
+        private final MappedByteBuffer data;
+        private final long fileOffset;
+        private final int end;
+        private int position;
+        private long nextLine;
+
+        // Current row
+        private int rowStart;
+        private int rowEnd;
+        private int rowContentEnd;
+        private long lineNumber;
+        private long linesInRow;
+        private boolean unterminatedQuote;
+        private int fieldCount;
+        private int[] fieldStart = new int[16];
+        private int[] fieldEnd = new int[16];
+        private boolean[] quoted = new boolean[16];
+        private boolean[] escapedQuotes = new boolean[16];
+        private byte[] text = new byte[256];
+
+        Chunk(MappedByteBuffer data, long fileOffset, int start, int end, long firstLine) {
+            this.data = data;
+            this.fileOffset = fileOffset;
+            this.position = start;
+            this.end = end;
+            this.nextLine = firstLine;
+        }
+
+        /**
+         * Moves to the next non-blank row; false at the end of the chunk.
+         */
+        public boolean nextRow() {
+            while (position < end) {
+                parseRow();
+                if (!isBlankRow()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public int fieldCount() { return fieldCount; }
+        // Physical line the row starts on (1 = the header), counting line breaks inside quoted fields (LF, CRLF or a lone CR)
+        public long lineNumber() { return lineNumber; }
+        public boolean hasUnterminatedQuote() { return unterminatedQuote; }
+        // File offset of the row and its length without the line break, e.g. to re-read it later
+        public long rowOffset() { return fileOffset + rowStart; }
+        public int rowLength() { return rowContentEnd - rowStart; }
+        // Bytes of the chunk consumed so far
+        public long bytesRead() { return position; }
+
+        public boolean isEmpty(int field) {
+            return field >= fieldCount || textLength(field) == 0;
+        }
+
+        /**
+         * The field as a String; quotes are removed and doubled quotes collapsed, unquoted fields are trimmed.
+         */
+        public String text(int field) {
+            checkField(field);
+            int length = copyText(field);
+            return length == 0 ? "" : new String(text, 0, length, StandardCharsets.UTF_8);
+        }
+
+        // Optional text: null when the column is missing or empty
+        public String textOrNull(int field) {
+            return isEmpty(field) ? null : text(field);
+        }
+
+        public int intValue(int field) {
+            checkField(field);
+            int start = trimmedStart(field);
+            int stop = trimmedEnd(field, start);
+            if (start == stop) {
+                throw new NumberFormatException("Empty number in column " + (field + 1) + ".");
+            }
+            boolean negative = data.get(start) == '-';
+            int i = negative || data.get(start) == '+' ? start + 1 : start;
+            if (i == stop) {
+                throw notANumber(field);
+            }
+            long value = 0;
+            for (; i < stop; i++) {
+                int digit = data.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw notANumber(field);
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw notANumber(field);
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw notANumber(field);
+            }
+            return (int) value;
+        }
+
+        /**
+         * Plain decimals of up to 15 significant digits ("3.75", "-0.5") are parsed from the bytes;
+         * anything else (exponents, more digits) goes through Double.parseDouble.
+         */
+        public double doubleValue(int field) {
+            checkField(field);
+            int start = trimmedStart(field);
+            int stop = trimmedEnd(field, start);
+            if (start == stop) {
+                throw new NumberFormatException("Empty number in column " + (field + 1) + ".");
+            }
+            boolean negative = data.get(start) == '-';
+            int i = negative || data.get(start) == '+' ? start + 1 : start;
+            long mantissa = 0;
+            int digits = 0;
+            int decimals = 0;
+            boolean point = false;
+            for (; i < stop; i++) {
+                byte b = data.get(i);
+                if (b == '.' && !point) {
+                    point = true;
+                } else if (b >= '0' && b <= '9' && digits < 15) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (point) {
+                        decimals++;
+                    }
+                } else {
+                    // Exponent, too many digits or garbage: let the JDK decide
+                    return Double.parseDouble(text(field));
+                }
+            }
+            if (digits == 0) {
+                throw notANumber(field);
+            }
+            // Both operands are exact doubles, so the division is correctly rounded
+            double value = mantissa / POWERS_OF_TEN[decimals];
+            return negative ? -value : value;
+        }
+
+        /**
+         * The whole row as it appears in the file, without the line break (for error reports).
+         */
+        public String rowText() {
+            int length = rowContentEnd - rowStart;
+            byte[] bytes = new byte[length];
+            data.get(rowStart, bytes, 0, length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void parseRow() {
+            rowStart = position;
+            lineNumber = nextLine;
+            linesInRow = 1;
+            unterminatedQuote = false;
+            fieldCount = 0;
+            int pos = position;
+            while (true) {
+                if (pos < end && data.get(pos) == QUOTE) {
+                    int start = ++pos;
+                    boolean escaped = false;
+                    int stop;
+                    while (true) {
+                        if (pos >= end) {
+                            unterminatedQuote = true;
+                            stop = pos;
+                            break;
+                        }
+                        byte b = data.get(pos);
+                        if (b == QUOTE) {
+                            if (pos + 1 < end && data.get(pos + 1) == QUOTE) {
+                                escaped = true;
+                                pos += 2;
+                                continue;
+                            }
+                            stop = pos++;
+                            break;
+                        }
+                        if (b == LF || (b == CR && (pos + 1 >= end || data.get(pos + 1) != LF))) {
+                            linesInRow++;
+                        }
+                        pos++;
+                    }
+                    addField(start, stop, true, escaped);
+                    // Anything between the closing quote and the next separator is ignored
+                    while (pos < end && !isSeparator(data.get(pos))) {
+                        pos++;
+                    }
+                } else {
+                    int start = pos;
+                    while (pos < end && !isSeparator(data.get(pos))) {
+                        pos++;
+                    }
+                    addField(start, pos, false, false);
+                }
+
+                if (pos >= end) {
+                    rowContentEnd = pos;
+                    break;
+                }
+                byte b = data.get(pos);
+                if (b == COMMA) {
+                    pos++;
+                    continue;
+                }
+                rowContentEnd = pos;
+                pos++;
+                if (b == CR && pos < end && data.get(pos) == LF) {
+                    pos++;
+                }
+                break;
+            }
+            rowEnd = pos;
+            position = pos;
+            nextLine += linesInRow;
+        }
+
+        private boolean isBlankRow() {
+            return fieldCount == 1 && !quoted[0] && textLength(0) == 0;
+        }
+
+        private void addField(int start, int stop, boolean isQuoted, boolean escaped) {
+            if (fieldCount == fieldStart.length) {
+                int capacity = fieldCount * 2;
+                fieldStart = Arrays.copyOf(fieldStart, capacity);
+                fieldEnd = Arrays.copyOf(fieldEnd, capacity);
+                quoted = Arrays.copyOf(quoted, capacity);
+                escapedQuotes = Arrays.copyOf(escapedQuotes, capacity);
+            }
+            fieldStart[fieldCount] = start;
+            fieldEnd[fieldCount] = stop;
+            quoted[fieldCount] = isQuoted;
+            escapedQuotes[fieldCount] = escaped;
+            fieldCount++;
+        }
+
+        private void checkField(int field) {
+            if (field >= fieldCount) {
+                throw new IllegalArgumentException("Expected at least " + (field + 1) + " columns but found " + fieldCount + ".");
+            }
+            if (unterminatedQuote) {
+                throw new IllegalArgumentException("Unterminated quoted field.");
+            }
+        }
+
+        private int trimmedStart(int field) {
+            int start = fieldStart[field];
+            if (!quoted[field]) {
+                while (start < fieldEnd[field] && isBlank(data.get(start))) {
+                    start++;
+                }
+            }
+            return start;
+        }
+
+        private int trimmedEnd(int field, int start) {
+            int stop = fieldEnd[field];
+            if (!quoted[field]) {
+                while (stop > start && isBlank(data.get(stop - 1))) {
+                    stop--;
+                }
+            }
+            return stop;
+        }
+
+        private int textLength(int field) {
+            int start = trimmedStart(field);
+            return trimmedEnd(field, start) - start;
+        }
+
+        // Copies the decoded bytes of a field into 'text' and returns their length
+        private int copyText(int field) {
+            int start = trimmedStart(field);
+            int length = trimmedEnd(field, start) - start;
+            if (length > text.length) {
+                text = new byte[Math.max(length, text.length * 2)];
+            }
+            data.get(start, text, 0, length);
+            if (!escapedQuotes[field]) {
+                return length;
+            }
+            int out = 0;
+            for (int i = 0; i < length; i++) {
+                text[out++] = text[i];
+                if (text[i] == QUOTE) {
+                    i++; // Skip the second quote of the pair
+                }
+            }
+            return out;
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t';
+        }
+
+        private NumberFormatException notANumber(int field) {
+            return new NumberFormatException("Not a number in column " + (field + 1) + ": \"" + text(field) + "\".");
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    // Carries a visitor's exception through the fork/join tasks unchanged
+    private static final class VisitorFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        VisitorFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
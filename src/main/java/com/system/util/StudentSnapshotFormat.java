@@ -0,0 +1,36 @@
+package com.system.util;
+
+/**
+ * Layout of a binary student snapshot (version 2), shared by the writer and the reader.
+ *
+ * <pre>
+ * header (32 bytes)  magic "SMSS", version (u16), flags (u16, 0), row count (i64),
+ *                    dictionary offset (i64), CRC32C of everything after the header followed by
+ *                    the first 24 header bytes (i64)
+ * rows               per row: programme code (i16, -1 = none), level (i32), GPA (f64),
+ *                    date added as epoch seconds (i64, Long.MIN_VALUE = none) and nanos (i32),
+ *                    then student ID, full name, email, phone and status as strings
+ * dictionary         programme count (i32), then one string per code
+ * </pre>
+ *
+ * Strings are a u16 byte length followed by UTF-8 bytes; 0xFFFF marks null. Numbers are big-endian.
+ * The header is written last, so a file whose export did not finish has no magic and is rejected.
+ * Version 1 files are the same except that their checksum does not cover the header.
+ */
+final class StudentSnapshotFormat {
+    static final int MAGIC = 0x534D5353;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    // Magic, version, flags, row count and dictionary offset: the header bytes the checksum covers
+    static final int CHECKED_HEADER_BYTES = 24;
+
+    static final short NO_PROGRAMME = -1;
+    static final long NO_DATE = Long.MIN_VALUE;
+    static final int NULL_LENGTH = 0xFFFF;
+    static final int MAX_STRING_BYTES = 0xFFFE;
+    // Programme code, level, GPA, date seconds and nanos
+    static final int FIXED_ROW_BYTES = 2 + 4 + 8 + 8 + 4;
+
+    private StudentSnapshotFormat() {
+    }
+}
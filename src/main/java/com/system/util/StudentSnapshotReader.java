@@ -0,0 +1,125 @@
+package com.system.util;
+
+import com.system.domain.Student;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+import static com.system.util.StudentSnapshotFormat.*;
+
+/**
+ * Reads a binary snapshot written by StudentSnapshotWriter, as an iterator of new Student objects.
+ *
+ * The file is memory mapped and its checksum verified when the reader is opened, so a damaged
+ * or incomplete file fails before a single row is handed out. Programme names come from the
+ * dictionary, so all students of one programme share the same String.
+ * Files over 2 GB (roughly 20 million students) are not supported.
+ */
+public class StudentSnapshotReader implements Iterator<Student>, Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final long rowCount;
+    private final String[] programmes;
+    private long rowsRead;
+    private byte[] text = new byte[256];
+
+    public StudentSnapshotReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshots larger than 2 GB are not supported.");
+            }
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException(file.getFileName() + " is not a complete student snapshot.");
+            }
+            int version = Short.toUnsignedInt(data.getShort(4));
+            if (version != VERSION && version != 1) {
+                throw new IOException("Unsupported snapshot version " + version + ".");
+            }
+            this.rowCount = data.getLong(8);
+            long dictionaryOffset = data.getLong(16);
+            if (rowCount < 0 || dictionaryOffset < HEADER_SIZE || dictionaryOffset > size - 4) {
+                throw new IOException("The snapshot header is damaged.");
+            }
+
+            CRC32C checksum = new CRC32C();
+            checksum.update(data.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if (version >= 2) {
+                checksum.update(data.slice(0, CHECKED_HEADER_BYTES));
+            }
+            if (checksum.getValue() != data.getLong(CHECKED_HEADER_BYTES)) {
+                throw new IOException("The snapshot checksum does not match; the file is damaged.");
+            }
+
+            data.position((int) dictionaryOffset);
+            this.programmes = new String[data.getInt()];
+            for (int code = 0; code < programmes.length; code++) {
+                programmes[code] = getString();
+            }
+            data.position(HEADER_SIZE).limit((int) dictionaryOffset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rowsRead < rowCount;
+    }
+
+    @Override
+    public Student next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        short programme = data.getShort();
+        int level = data.getInt();
+        double gpa = data.getDouble();
+        long seconds = data.getLong();
+        int nanos = data.getInt();
+        String studentId = getString();
+        String fullName = getString();
+        String email = getString();
+        String phoneNumber = getString();
+        String status = getString();
+        rowsRead++;
+        return new Student(studentId, fullName, programme == NO_PROGRAMME ? null : programmes[programme],
+                level, gpa, email, phoneNumber, status,
+                seconds == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+    }
+
+    // The mapping itself is released by the garbage collector
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String getString() {
+        int length = Short.toUnsignedInt(data.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length > text.length) {
+            text = new byte[Math.max(length, text.length * 2)];
+        }
+        data.get(text, 0, length);
+        return new String(text, 0, length, StandardCharsets.UTF_8);
+    }
+}
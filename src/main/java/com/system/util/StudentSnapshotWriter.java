@@ -0,0 +1,190 @@
+package com.system.util;
+
+import com.system.domain.Student;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import static com.system.util.StudentSnapshotFormat.*;
+
+/**
+ * Writes every student column into a binary snapshot (see StudentSnapshotFormat), one row at a time.
+ *
+ * Rows are encoded into a 1 MiB direct buffer that is checksummed and handed to the FileChannel
+ * when full. Programmes are replaced by a short code, and the code table is written after the rows,
+ * so the writer can stream straight from a database cursor.
+ *
+ * The snapshot is written to a temporary file next to the target, and finish() moves it over the
+ * target in one atomic rename once every row is on disk. Closing without finish() deletes the
+ * temporary file, so a failed export never damages a snapshot that already exists at the target.
+ */
+public class StudentSnapshotWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    private final Map<String, Short> programmeCodes = new HashMap<>();
+    private final List<String> programmes = new ArrayList<>();
+    private long rowsWritten;
+    private boolean finished;
+
+    public StudentSnapshotWriter(Path file) throws IOException {
+        this.target = file.toAbsolutePath();
+        // Same directory, so the final rename cannot cross file systems
+        this.temporary = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        // The header is filled in by finish(), once the row count and the dictionary position are known
+        channel.position(HEADER_SIZE);
+    }
+
+    public void write(Student s) throws IOException {
+        ensure(FIXED_ROW_BYTES);
+        buffer.putShort(programmeCode(s.getProgramme()));
+        buffer.putInt(s.getLevel());
+        buffer.putDouble(s.getGpa());
+        LocalDateTime dateAdded = s.getDateAdded();
+        buffer.putLong(dateAdded == null ? NO_DATE : dateAdded.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(dateAdded == null ? 0 : dateAdded.getNano());
+        putString(s.getStudentId());
+        putString(s.getFullName());
+        putString(s.getEmail());
+        putString(s.getPhoneNumber());
+        putString(s.getStatus());
+        rowsWritten++;
+    }
+
+    /**
+     * Writes the programme dictionary and the header, forces the file to disk and moves it
+     * into place at the target path.
+     */
+    public void finish() throws IOException {
+        long dictionaryOffset = channel.position() + buffer.position();
+        ensure(4);
+        buffer.putInt(programmes.size());
+        for (String programme : programmes) {
+            putString(programme);
+        }
+        flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort((short) VERSION);
+        header.putShort((short) 0);
+        header.putLong(rowsWritten);
+        header.putLong(dictionaryOffset);
+        checksum.update(header.array(), 0, CHECKED_HEADER_BYTES);
+        header.putLong(checksum.getValue());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        finished = true;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        if (!finished) {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private short programmeCode(String programme) throws IOException {
+        if (programme == null) {
+            return NO_PROGRAMME;
+        }
+        Short code = programmeCodes.get(programme);
+        if (code == null) {
+            if (programmes.size() == Short.MAX_VALUE) {
+                throw new IOException("Too many distinct programmes for a snapshot.");
+            }
+            code = (short) programmes.size();
+            programmeCodes.put(programme, code);
+            programmes.add(programme);
+        }
+        return code;
+    }
+
+    private void putString(String value) throws IOException {
+        if (value == null) {
+            ensure(2);
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        // IDs, emails and phone numbers are ASCII: copy the chars instead of encoding into a new array
+        int length = value.length();
+        if (length <= MAX_STRING_BYTES && isAscii(value)) {
+            ensure(2 + length);
+            buffer.putShort((short) length);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("Text of " + bytes.length + " bytes is too long for a snapshot.");
+        }
+        ensure(2 + bytes.length);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
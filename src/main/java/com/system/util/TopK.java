@@ -0,0 +1,38 @@
+package com.system.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Picks the k largest items without sorting everything: a min-heap of size k holds the best
+ * items seen so far and its smallest member is replaced whenever something better comes along.
+ * O(n log k) time and O(k) extra memory instead of O(n log n) and a full copy.
+ */
+public class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Returns at most k items, largest first according to order.
+     */
+    public static <T> List<T> largest(Iterable<? extends T> items, int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(k, order);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+import com.system.domain.WriteResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchWriteTest {
+
+    @TempDir
+    Path dir;
+    private SQLiteStudentRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new SQLiteStudentRepository("jdbc:sqlite:" + dir.resolve("students.db"));
+        repository.initializeDatabase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private static Student student(String id) {
+        return new Student(id, "Name " + id, "Prog", 100, 3.0, null, null, "Active", LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    @Test
+    void aDuplicateRowFailsAloneAndTheRestAreWritten() throws Exception {
+        repository.addStudent(student("S002"));
+        List<WriteResult> results = repository.addStudents(List.of(student("S001"), student("S002"), student("S003")));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(3, repository.getAllStudents().size());
+    }
+
+    @Test
+    void aRowThatFailsToBindLeavesNothingQueuedForTheNextWrite() throws Exception {
+        // The null row throws while the chunk is being bound, after S001 and S002 were queued
+        List<Student> rows = Arrays.asList(student("S001"), student("S002"), null, student("S003"));
+        assertThrows(NullPointerException.class, () -> repository.addStudents(rows));
+        assertTrue(repository.getAllStudents().isEmpty());
+
+        List<WriteResult> results = repository.addStudents(List.of(student("S004")));
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(List.of("S004"), repository.getAllStudents().stream().map(Student::getStudentId).toList());
+        assertNull(repository.findStudentById("S001"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPagingTest {
+    private static final int ROWS = 57;
+    private static final int PAGE_SIZE = 5;
+
+    @TempDir
+    Path dir;
+    private SQLiteStudentRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new SQLiteStudentRepository("jdbc:sqlite:" + dir.resolve("students.db"));
+        repository.initializeDatabase();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            students.add(student(i));
+        }
+        repository.addStudents(students);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    // Few distinct values per column, so most rows tie on the sort key; some dates are NULL
+    private static Student student(int i) {
+        LocalDateTime date = i % 4 == 0 ? null : LocalDateTime.of(2024, 1, 1 + i % 3, 12, 0);
+        return new Student(String.format("S%03d", (i * 37) % 1000), "Name " + (char) ('A' + i % 4), "Prog" + i % 2,
+                100 * (1 + i % 3), new double[] {2.0, 3.0, 3.5}[i % 3], null, null, i % 2 == 0 ? "Active" : "Inactive", date);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortColumn.class)
+    void ascendingPagesReturnEveryRowOnceInSortOrder(SortColumn column) throws Exception {
+        assertPagesMatchOrder(column, SortDirection.ASCENDING);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SortColumn.class)
+    void descendingPagesReturnEveryRowOnceInSortOrder(SortColumn column) throws Exception {
+        assertPagesMatchOrder(column, SortDirection.DESCENDING);
+    }
+
+    private void assertPagesMatchOrder(SortColumn column, SortDirection direction) throws Exception {
+        List<Student> expected = new ArrayList<>(repository.getAllStudents());
+        expected.sort(column.comparator(direction));
+
+        List<String> paged = new ArrayList<>();
+        PageKey key = null;
+        List<Student> page;
+        while (!(page = repository.getStudentsPage(column, direction, key, PAGE_SIZE)).isEmpty()) {
+            assertTrue(page.size() <= PAGE_SIZE);
+            page.forEach(s -> paged.add(s.getStudentId()));
+            key = PageKey.after(page.get(page.size() - 1), column);
+        }
+        assertEquals(ids(expected), paged);
+    }
+
+    @Test
+    void lastPageIsShortAndThePageAfterItIsEmpty() throws Exception {
+        List<List<Student>> pages = allPages(SortColumn.GPA, SortDirection.ASCENDING, PAGE_SIZE);
+        assertEquals(ROWS % PAGE_SIZE, pages.get(pages.size() - 1).size());
+        assertEquals((ROWS + PAGE_SIZE - 1) / PAGE_SIZE, pages.size());
+    }
+
+    @Test
+    void pageSizeDividingTheRowCountEndsWithAFullPage() throws Exception {
+        List<List<Student>> pages = allPages(SortColumn.LEVEL, SortDirection.DESCENDING, 19);
+        assertEquals(3, pages.size());
+        pages.forEach(page -> assertEquals(19, page.size()));
+    }
+
+    @Test
+    void pagingContinuesCorrectlyWhileRowsAreInsertedAndDeleted() throws Exception {
+        SortColumn column = SortColumn.GPA;
+        List<Student> first = repository.getStudentsPage(column, SortDirection.ASCENDING, null, PAGE_SIZE);
+        PageKey key = PageKey.after(first.get(first.size() - 1), column);
+        List<String> seen = new ArrayList<>(ids(first));
+
+        // Delete one row already shown and one not shown yet; insert one row on each side of the key
+        repository.deleteStudent(first.get(0).getStudentId());
+        Student unseen = repository.getStudentsPage(column, SortDirection.ASCENDING, key, 1).get(0);
+        repository.deleteStudent(unseen.getStudentId());
+        Student before = new Student("A000", "Early Row", "Prog0", 100, 1.0, null, null, "Inactive", null);
+        Student after = new Student("Z999", "Late Row", "Prog0", 100, 3.9, null, null, "Active", null);
+        repository.addStudent(before);
+        repository.addStudent(after);
+
+        List<Student> page;
+        while (!(page = repository.getStudentsPage(column, SortDirection.ASCENDING, key, PAGE_SIZE)).isEmpty()) {
+            seen.addAll(ids(page));
+            key = PageKey.after(page.get(page.size() - 1), column);
+        }
+
+        Set<String> unique = new HashSet<>(seen);
+        assertEquals(seen.size(), unique.size(), "a row was returned twice");
+        assertEquals(ROWS, seen.size()); // 57 seen or kept, minus the deleted unseen row, plus the late row
+        assertTrue(unique.contains(after.getStudentId()));
+        assertFalse(unique.contains(before.getStudentId()));
+        assertFalse(unique.contains(unseen.getStudentId()));
+    }
+
+    @Test
+    void pageKeyOfAnotherColumnIsRejected() throws Exception {
+        Student any = repository.getStudentsPage(SortColumn.GPA, SortDirection.ASCENDING, null, 1).get(0);
+        PageKey key = PageKey.after(any, SortColumn.GPA);
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.getStudentsPage(SortColumn.LEVEL, SortDirection.ASCENDING, key, PAGE_SIZE));
+    }
+
+    private List<List<Student>> allPages(SortColumn column, SortDirection direction, int size) throws Exception {
+        List<List<Student>> pages = new ArrayList<>();
+        PageKey key = null;
+        List<Student> page;
+        while (!(page = repository.getStudentsPage(column, direction, key, size)).isEmpty()) {
+            pages.add(page);
+            key = PageKey.after(page.get(page.size() - 1), column);
+        }
+        return pages;
+    }
+
+    private static List<String> ids(List<Student> students) {
+        List<String> ids = new ArrayList<>(students.size());
+        students.forEach(s -> ids.add(s.getStudentId()));
+        return ids;
+    }
+}
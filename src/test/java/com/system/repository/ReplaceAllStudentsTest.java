@@ -0,0 +1,133 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplaceAllStudentsTest {
+    private static final int ROWS = 40;
+
+    @TempDir
+    Path dir;
+    private SQLiteStudentRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = new SQLiteStudentRepository(url());
+        repository.initializeDatabase();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            students.add(student("OLD" + i, "Original Name" + i));
+        }
+        repository.addStudents(students);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private String url() {
+        return "jdbc:sqlite:" + dir.resolve("students.db");
+    }
+
+    private static Student student(String id, String name) {
+        return new Student(id, name, "Prog", 100, 3.0, null, null, "Active", LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    // Yields replacement rows, then throws the given failure partway through
+    private static Iterator<Student> failingAfter(int rows, Throwable failure) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Student next() {
+                if (next == rows) {
+                    if (failure instanceof Error error) {
+                        throw error;
+                    }
+                    throw (RuntimeException) failure;
+                }
+                next++;
+                return student("NEW" + next, "Replacement Name" + next);
+            }
+        };
+    }
+
+    private List<String> schemaObjects() throws SQLException {
+        List<String> objects = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(url());
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT type, name, sql FROM sqlite_master ORDER BY type, name")) {
+            while (rs.next()) {
+                objects.add(rs.getString(1) + " " + rs.getString(2) + " " + rs.getString(3));
+            }
+        }
+        return objects;
+    }
+
+    private void assertUnchanged(List<String> schema) throws Exception {
+        assertEquals(schema, schemaObjects());
+        assertEquals(ROWS, repository.getAllStudents().size());
+        assertEquals(1, repository.searchStudents("Name7").size());
+        assertTrue(repository.searchStudents("Replacement").isEmpty());
+        assertTrue(repository.checkAggregates().isConsistent());
+
+        // The triggers are still in place: a new row reaches the search index and the summary tables
+        repository.addStudent(student("LATE1", "Latecomer"));
+        assertEquals(1, repository.searchStudents("Latecomer").size());
+        assertTrue(repository.checkAggregates().isConsistent());
+    }
+
+    @Test
+    void anErrorFromTheRowsLeavesTheTableIndexesAndTriggersUnchanged() throws Exception {
+        List<String> schema = schemaObjects();
+        assertThrows(OutOfMemoryError.class, () -> repository.replaceAllStudents(failingAfter(25, new OutOfMemoryError("simulated"))));
+        assertUnchanged(schema);
+    }
+
+    @Test
+    void anExceptionFromTheRowsLeavesTheTableIndexesAndTriggersUnchanged() throws Exception {
+        List<String> schema = schemaObjects();
+        assertThrows(IllegalStateException.class, () -> repository.replaceAllStudents(failingAfter(25, new IllegalStateException("bad row"))));
+        assertUnchanged(schema);
+    }
+
+    @Test
+    void replacesEveryRowAndRestoresTheSchema() throws Exception {
+        List<String> schema = schemaObjects();
+        List<Student> replacement = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            replacement.add(student("NEW" + i, "Replacement Name" + i));
+        }
+        assertEquals(15, repository.replaceAllStudents(replacement.iterator()));
+
+        assertEquals(schema, schemaObjects());
+        assertEquals(15, repository.getAllStudents().size());
+        assertTrue(repository.searchStudents("Original").isEmpty());
+        assertEquals(1, repository.searchStudents("Name7").size());
+        assertTrue(repository.checkAggregates().isConsistent());
+    }
+}
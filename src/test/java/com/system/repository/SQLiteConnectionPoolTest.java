@@ -0,0 +1,96 @@
+package com.system.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SQLiteConnectionPoolTest {
+
+    @TempDir
+    Path dir;
+
+    private SQLiteConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = new SQLiteConnectionPool("jdbc:sqlite:" + dir.resolve("pool.db"), 2, PragmaProfile.BALANCED);
+        pool.write(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY)");
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private void insertThenFail(Throwable failure) throws SQLException {
+        pool.transaction(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute("INSERT INTO items (id) VALUES (1), (2), (3)");
+            }
+            if (failure instanceof SQLException sql) {
+                throw sql;
+            }
+            if (failure instanceof RuntimeException unchecked) {
+                throw unchecked;
+            }
+            throw (Error) failure;
+        });
+    }
+
+    private int count() throws SQLException {
+        return pool.read(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+                return rs.getInt(1);
+            }
+        });
+    }
+
+    @Test
+    void commitsWhenTheWorkReturns() throws SQLException {
+        pool.transaction(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute("INSERT INTO items (id) VALUES (1), (2)");
+            }
+            return null;
+        });
+        assertEquals(2, count());
+    }
+
+    @Test
+    void rollsBackOnExceptions() throws SQLException {
+        assertThrows(SQLException.class, () -> insertThenFail(new SQLException("boom")));
+        assertThrows(IllegalStateException.class, () -> insertThenFail(new IllegalStateException("boom")));
+        assertEquals(0, count());
+    }
+
+    @Test
+    void rollsBackOnErrors() throws SQLException {
+        assertThrows(OutOfMemoryError.class, () -> insertThenFail(new OutOfMemoryError("simulated")));
+        assertThrows(AssertionError.class, () -> insertThenFail(new AssertionError("simulated")));
+        assertEquals(0, count());
+
+        // The writer is back in autocommit mode and still usable
+        pool.write(conn -> {
+            try (Statement stmt = conn.getConnection().createStatement()) {
+                stmt.execute("INSERT INTO items (id) VALUES (9)");
+            }
+            return null;
+        });
+        assertEquals(1, count());
+    }
+}
@@ -0,0 +1,67 @@
+package com.system.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigrationTest {
+
+    @TempDir
+    Path dir;
+
+    private String url() {
+        return "jdbc:sqlite:" + dir.resolve("students.db");
+    }
+
+    private int recordedVersion() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url());
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void migratesANewDatabaseAndIsIdempotent() throws Exception {
+        SQLiteStudentRepository repository = new SQLiteStudentRepository(url());
+        try {
+            repository.initializeDatabase();
+            repository.initializeDatabase();
+        } finally {
+            repository.close();
+        }
+        int latest = SQLiteStudentRepository.migrations().stream().mapToInt(SchemaMigration::getVersion).max().orElse(0);
+        assertEquals(latest, recordedVersion());
+    }
+
+    @Test
+    void refusesADatabaseFromANewerVersion() throws Exception {
+        SQLiteStudentRepository repository = new SQLiteStudentRepository(url());
+        try {
+            repository.initializeDatabase();
+        } finally {
+            repository.close();
+        }
+        try (Connection conn = DriverManager.getConnection(url()); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO schema_version (version, description, applied_at) VALUES (9999, 'future', '')");
+        }
+
+        SQLiteStudentRepository newer = new SQLiteStudentRepository(url());
+        try {
+            SQLException error = assertThrows(SQLException.class, newer::initializeDatabase);
+            assertTrue(error.getMessage().contains("newer"), error.getMessage());
+        } finally {
+            newer.close();
+        }
+    }
+}
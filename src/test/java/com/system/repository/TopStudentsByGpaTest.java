@@ -0,0 +1,66 @@
+package com.system.repository;
+
+import com.system.domain.Student;
+import com.system.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TopStudentsByGpaTest {
+
+    @TempDir
+    Path dir;
+    private SQLiteStudentRepository sqlite;
+    private CachingStudentRepository cached;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String url = "jdbc:sqlite:" + dir.resolve("students.db");
+        sqlite = new SQLiteStudentRepository(url);
+        sqlite.initializeDatabase();
+        sqlite.addStudents(List.of(student("S001", 3.8), student("S002", 2.5), student("S003", 0.0), student("S004", 1.0)));
+        // Only older or hand-edited databases hold a NULL GPA; the application always writes one
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE students SET gpa = NULL WHERE student_id = 'S004'");
+        }
+        cached = new CachingStudentRepository(sqlite);
+        cached.getAllStudents();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlite.close();
+    }
+
+    private static Student student(String id, double gpa) {
+        return new Student(id, "Name " + id, "Prog", 100, gpa, null, null, "Active", LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    private static List<String> ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).toList();
+    }
+
+    @Test
+    void everyPathLeavesOutAStudentWithoutAGpa() throws Exception {
+        StudentService service = new StudentService(cached);
+        service.loadInMemoryIndexes();
+        for (int limit = 1; limit <= 5; limit++) {
+            List<String> expected = ids(sqlite.getTopStudentsByGpa(limit, null, null));
+            assertFalse(expected.contains("S004"));
+            assertEquals(expected, ids(cached.getTopStudentsByGpa(limit, null, null)), "cached, limit " + limit);
+            assertEquals(expected, ids(service.getTopPerformers(limit)), "columns, limit " + limit);
+        }
+        assertEquals(List.of("S001", "S002", "S003"), ids(cached.getTopStudentsByGpa(10, "Prog", 100)));
+    }
+}
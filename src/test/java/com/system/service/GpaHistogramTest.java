@@ -0,0 +1,102 @@
+package com.system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpaHistogramTest {
+
+    @Test
+    void bucketOfRoundsDownToHundredthsAndClamps() {
+        assertEquals(0, GpaHistogram.bucketOf(0.0));
+        assertEquals(0, GpaHistogram.bucketOf(0.009));
+        assertEquals(1, GpaHistogram.bucketOf(0.01));
+        assertEquals(230, GpaHistogram.bucketOf(2.3)); // 2.2999999... in binary
+        assertEquals(229, GpaHistogram.bucketOf(2.2999));
+        assertEquals(400, GpaHistogram.bucketOf(4.0));
+        assertEquals(0, GpaHistogram.bucketOf(-1.0));
+        assertEquals(400, GpaHistogram.bucketOf(7.5));
+    }
+
+    @Test
+    void emptyHistogramCountsNothing() {
+        GpaHistogram histogram = new GpaHistogram();
+        assertEquals(0, histogram.getTotal());
+        assertEquals(0, histogram.countAtLeast(0.0));
+        assertEquals(0, histogram.countBelow(4.0));
+    }
+
+    @Test
+    void thresholdsAtAndBeyondTheEndsOfTheScale() {
+        GpaHistogram histogram = histogramOf(List.of(0.0, 0.0, 1.5, 4.0));
+        assertEquals(4, histogram.countAtLeast(0.0));
+        assertEquals(4, histogram.countAtLeast(-0.5));
+        assertEquals(2, histogram.countAtLeast(0.01));
+        assertEquals(1, histogram.countAtLeast(4.0));
+        assertEquals(3, histogram.countBelow(4.0));
+        assertEquals(0, histogram.countAtLeast(4.01));
+        assertEquals(4, histogram.countBelow(4.5));
+        assertEquals(0, histogram.countBelow(0.0));
+    }
+
+    @Test
+    void gpaEqualToTheThresholdCountsAsAtLeast() {
+        GpaHistogram histogram = histogramOf(List.of(2.29, 2.3, 2.3, 2.31));
+        assertEquals(3, histogram.countAtLeast(2.3));
+        assertEquals(1, histogram.countBelow(2.3));
+        assertEquals(1, histogram.countAtLeast(2.31));
+        assertEquals(4, histogram.countAtLeast(2.29));
+    }
+
+    @Test
+    void countsMatchABruteForceCountForEveryTwoDecimalThreshold() {
+        Random random = new Random(7);
+        List<Double> gpas = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            gpas.add(random.nextInt(401) / 100.0);
+        }
+        GpaHistogram histogram = histogramOf(gpas);
+        for (int hundredths = -5; hundredths <= 405; hundredths++) {
+            double threshold = hundredths / 100.0;
+            long atLeast = gpas.stream().filter(gpa -> gpa >= threshold).count();
+            assertEquals(atLeast, histogram.countAtLeast(threshold), "threshold " + threshold);
+            assertEquals(gpas.size() - atLeast, histogram.countBelow(threshold), "threshold " + threshold);
+        }
+    }
+
+    @Test
+    void removalsUndoAdditions() {
+        GpaHistogram histogram = histogramOf(List.of(1.0, 2.0, 2.0, 3.0));
+        histogram.add(GpaHistogram.bucketOf(2.0), -1);
+        histogram.add(GpaHistogram.bucketOf(3.0), -1);
+        assertEquals(2, histogram.getTotal());
+        assertEquals(1, histogram.countAtLeast(2.0));
+        assertEquals(0, histogram.countAtLeast(2.01));
+        assertEquals(1, histogram.countBelow(2.0));
+    }
+
+    @Test
+    void fromCountsMatchesAddingOneByOne() {
+        long[] counts = new long[GpaHistogram.BUCKETS];
+        counts[0] = 3;
+        counts[199] = 5;
+        counts[400] = 2;
+        GpaHistogram histogram = GpaHistogram.fromCounts(counts);
+        assertEquals(10, histogram.getTotal());
+        assertEquals(7, histogram.countAtLeast(1.99));
+        assertEquals(2, histogram.countAtLeast(2.0));
+        assertEquals(3, histogram.countBelow(0.01));
+    }
+
+    private static GpaHistogram histogramOf(List<Double> gpas) {
+        GpaHistogram histogram = new GpaHistogram();
+        for (double gpa : gpas) {
+            histogram.add(GpaHistogram.bucketOf(gpa), 1);
+        }
+        return histogram;
+    }
+}
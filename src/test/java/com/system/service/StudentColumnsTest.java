@@ -0,0 +1,191 @@
+package com.system.service;
+
+import com.system.domain.Student;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentColumnsTest {
+
+    // Initial size of the ID hash table; it doubles once more than half of it is used
+    private static final int TABLE_SIZE = 2048;
+
+    private static Student student(String id, double gpa) {
+        return new Student(id, "Name " + id, "Computing", 100, gpa, null, null, Student.ACTIVE,
+                LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    // Every row's ID and GPA; fails on an ID that appears in two rows
+    private static Map<String, Double> contents(StudentColumns columns) {
+        return columns.read(view -> {
+            Map<String, Double> rows = new HashMap<>();
+            for (int row = 0; row < view.rows(); row++) {
+                assertNull(rows.put(view.studentId(row), view.gpa()[row]), "duplicate row for " + view.studentId(row));
+            }
+            return rows;
+        });
+    }
+
+    private static void assertMatches(Map<String, Double> expected, StudentColumns columns) {
+        assertEquals(expected.size(), columns.size());
+        assertEquals(expected, contents(columns));
+    }
+
+    // Same hash as the ID column, so the tests can choose IDs that collide in its table
+    private static int homeSlot(String id, int tableSize) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int h = 0x811C9DC5;
+        for (byte b : bytes) {
+            h = (h ^ b) * 0x01000193;
+        }
+        return (h ^ (h >>> 16)) & (tableSize - 1);
+    }
+
+    // IDs whose home slots are within a few slots of the end of the table or just past the start,
+    // so their probe runs form one cluster that wraps around
+    private static List<String> wrappingIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int n = 0; ids.size() < count; n++) {
+            String id = "STU" + n;
+            int slot = homeSlot(id, TABLE_SIZE);
+            if (slot >= TABLE_SIZE - 6 || slot < 3) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void lookupsSurviveDeletesInsideAWrappingCluster() {
+        List<String> ids = wrappingIds(60);
+        StudentColumns columns = new StudentColumns();
+        Map<String, Double> expected = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            columns.put(student(ids.get(i), i / 20.0));
+            expected.put(ids.get(i), i / 20.0);
+        }
+        assertMatches(expected, columns);
+
+        // Delete from the middle of the run, including entries that wrapped past slot 0
+        Collections.shuffle(ids, new Random(3));
+        for (String id : ids.subList(0, 30)) {
+            columns.remove(id);
+            expected.remove(id);
+            assertMatches(expected, columns);
+        }
+        // The survivors must still be found: an update must overwrite their row, not add a new one
+        for (String id : ids.subList(30, 60)) {
+            columns.put(student(id, 4.0));
+            expected.put(id, 4.0);
+        }
+        assertMatches(expected, columns);
+
+        // Reinsert the deleted IDs into the gaps the backward shift left behind
+        for (String id : ids.subList(0, 30)) {
+            columns.put(student(id, 1.5));
+            expected.put(id, 1.5);
+        }
+        assertMatches(expected, columns);
+        for (String id : ids) {
+            columns.remove(id);
+        }
+        assertMatches(Map.of(), columns);
+    }
+
+    @Test
+    void removingAnUnknownIdChangesNothing() {
+        StudentColumns columns = new StudentColumns();
+        List<String> ids = wrappingIds(10);
+        for (String id : ids.subList(0, 5)) {
+            columns.put(student(id, 2.0));
+        }
+        for (String id : ids.subList(5, 10)) {
+            columns.remove(id); // same cluster, but never inserted
+        }
+        columns.remove(ids.get(0));
+        columns.remove(ids.get(0));
+        assertEquals(4, columns.size());
+        assertEquals(List.copyOf(ids.subList(1, 5)).stream().sorted().toList(),
+                contents(columns).keySet().stream().sorted().toList());
+    }
+
+    @Test
+    void randomChurnOnClusteredKeysMatchesAMap() {
+        Random random = new Random(42);
+        // Half the keys pile up around the wraparound point, the rest are spread out; enough of them
+        // that the table grows past its initial size and rehashes mid-run
+        List<String> keys = new ArrayList<>(wrappingIds(400));
+        for (int i = 0; i < 2_000; i++) {
+            keys.add("ID-" + i);
+        }
+        StudentColumns columns = new StudentColumns();
+        Map<String, Double> expected = new HashMap<>();
+        for (int step = 0; step < 30_000; step++) {
+            String id = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                columns.remove(id);
+                expected.remove(id);
+            } else {
+                double gpa = random.nextInt(401) / 100.0;
+                columns.put(student(id, gpa));
+                expected.put(id, gpa);
+            }
+            if (step % 1_000 == 0) {
+                assertMatches(expected, columns);
+            }
+        }
+        assertMatches(expected, columns);
+    }
+
+    @Test
+    void deletedIdsAreCompactedAwayWithoutLosingRows() {
+        // Long IDs fill the 16 KiB arena quickly, so the churn forces several compactions
+        String padding = "x".repeat(200);
+        StudentColumns columns = new StudentColumns();
+        Map<String, Double> expected = new HashMap<>();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 60; i++) {
+                String id = padding + round + "-" + i;
+                columns.put(student(id, i / 20.0));
+                expected.put(id, i / 20.0);
+            }
+            for (int i = 0; i < 60; i += 2) {
+                String id = padding + round + "-" + i;
+                columns.remove(id);
+                expected.remove(id);
+            }
+        }
+        assertMatches(expected, columns);
+        columns.finishLoading(); // trims the arena and the row arrays
+        assertMatches(expected, columns);
+        columns.put(student("after-trim", 3.9));
+        expected.put("after-trim", 3.9);
+        assertMatches(expected, columns);
+    }
+
+    @Test
+    void writesDuringLoadWinOverScannedRows() {
+        StudentColumns columns = new StudentColumns();
+        columns.put(student("S1", 3.5));
+        columns.remove("S2");
+        columns.load(student("S1", 1.0));
+        columns.load(student("S2", 2.0));
+        columns.load(student("S3", 2.5));
+        columns.finishLoading();
+
+        assertTrue(columns.isReady());
+        assertEquals(Map.of("S1", 3.5, "S3", 2.5), contents(columns));
+        assertEquals(List.of("S1", "S3"), columns.topByGpa(5, null, null));
+    }
+}
@@ -0,0 +1,216 @@
+package com.system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSearchIndexTest {
+
+    private static StudentSearchIndex indexOf(String... idsAndNames) {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 0; i < idsAndNames.length; i += 2) {
+            index.put(idsAndNames[i], idsAndNames[i + 1]);
+        }
+        index.finishLoading();
+        return index;
+    }
+
+    @Test
+    void prefixOfIdOrAnyNameWordMatchesIgnoringCase() {
+        StudentSearchIndex index = indexOf("STU001", "Ada Lovelace", "STU002", "Alan Turing", "ABC123", "Grace Hopper");
+        assertEquals(Set.of("STU001", "STU002"), Set.copyOf(index.search("stu", 10)));
+        assertEquals(List.of("STU002"), index.search("TUR", 10));
+        assertEquals(List.of("ABC123"), index.search("gr", 10));
+        assertEquals(List.of(), index.search("zz", 10));
+    }
+
+    @Test
+    void substringsMatchFromThreeCharacters() {
+        StudentSearchIndex index = indexOf("STU001", "Ada Lovelace", "STU002", "Alan Turing");
+        assertEquals(List.of("STU001"), index.search("velac", 10));
+        assertEquals(List.of("STU002"), index.search("ring", 10));
+        assertEquals(List.of("STU001"), index.search("u001", 10));
+        // Two characters only match as a prefix
+        assertEquals(List.of(), index.search("ng", 10));
+    }
+
+    @Test
+    void everyWordOfTheQueryMustMatch() {
+        StudentSearchIndex index = indexOf("S1", "Ada Lovelace", "S2", "Ada Byron", "S3", "Lord Byron");
+        assertEquals(List.of("S2"), index.search("ada byron", 10));
+        assertEquals(List.of("S2"), index.search("  BYRON   ada ", 10));
+        assertEquals(List.of(), index.search("ada turing", 10));
+    }
+
+    @Test
+    void prefixMatchesComeBeforeSubstringMatches() {
+        StudentSearchIndex index = indexOf("S1", "Marianne Ross", "S2", "Ann Smith", "S3", "Joanna Annett");
+        List<String> results = index.search("ann", 10);
+        assertEquals(Set.of("S1", "S2", "S3"), Set.copyOf(results));
+        assertEquals("S1", results.get(results.size() - 1)); // only matches inside a word
+    }
+
+    @Test
+    void searchStopsAtTheLimit() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 0; i < 100; i++) {
+            index.put("ID" + i, "Same Name");
+        }
+        assertEquals(7, index.search("same", 7).size());
+        assertEquals(100, index.search("same", 1_000).size());
+        assertEquals(List.of(), index.search("same", 0));
+        assertEquals(List.of(), index.search("   ", 10));
+        assertEquals(List.of(), index.search(null, 10));
+    }
+
+    @Test
+    void renamedStudentIsOnlyFoundUnderTheNewName() {
+        StudentSearchIndex index = indexOf("S1", "Ada Lovelace");
+        index.put("S1", "Ada King");
+        assertEquals(List.of(), index.search("lovelace", 10));
+        assertEquals(List.of("S1"), index.search("king", 10));
+        assertEquals(List.of("S1"), index.search("ada", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removedStudentIsNotFoundAndCanBeAddedAgain() {
+        StudentSearchIndex index = indexOf("S1", "Ada Lovelace", "S2", "Alan Turing");
+        index.remove("S1");
+        assertEquals(List.of(), index.search("lovelace", 10));
+        assertEquals(List.of(), index.search("velac", 10));
+        assertEquals(List.of("S2"), index.search("a", 10));
+        index.remove("unknown");
+        assertEquals(1, index.size());
+
+        index.put("S1", "Ada Lovelace");
+        assertEquals(List.of("S1"), index.search("velac", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void writesDuringTheInitialLoadWinOverScannedRows() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        index.put("S1", "New Name");
+        index.remove("S2");
+        // The scan read these rows before the writes above
+        index.load("S1", "Old Name");
+        index.load("S2", "Deleted Student");
+        index.load("S3", "Loaded Student");
+        index.finishLoading();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("S1"), index.search("new", 10));
+        assertEquals(List.of(), index.search("old", 10));
+        assertEquals(List.of("S3"), index.search("student", 10));
+    }
+
+    @Test
+    void manyTermsWithACommonPrefixBurstTheTrie() {
+        Map<String, String> students = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            students.put("ID" + i, "Name" + i + " Surname" + (i % 37));
+        }
+        StudentSearchIndex index = new StudentSearchIndex();
+        students.forEach(index::put);
+
+        assertEquals(2_000, index.search("name", 10_000).size());
+        assertEquals(Set.of("ID1234"), Set.copyOf(index.search("name1234", 10)));
+        assertEquals(11, index.search("name123", 100).size()); // name123 and name1230 - name1239
+        assertEquals(Set.copyOf(bruteForce(students, "surname36")), Set.copyOf(index.search("surname36", 10_000)));
+    }
+
+    @Test
+    void compactionAfterManyRemovalsKeepsResultsCorrect() {
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 0; i < 25_000; i++) {
+            index.put("ID" + i, "Student " + i);
+        }
+        // Enough dead slots to trigger compaction, then more writes on the compacted index
+        for (int i = 0; i < 24_000; i++) {
+            index.remove("ID" + i);
+        }
+        index.put("ID24500", "Renamed Person");
+        index.put("ID1", "Back Again");
+
+        assertEquals(1_001, index.size());
+        assertEquals(999, index.search("student", 100_000).size()); // ID24500 was renamed
+        assertEquals(List.of(), index.search("id100", 10));
+        assertEquals(List.of("ID24500"), index.search("renamed", 10));
+        assertEquals(List.of("ID1"), index.search("again", 10));
+    }
+
+    @Test
+    void randomQueriesMatchABruteForceScan() {
+        Random random = new Random(11);
+        String[] syllables = {"an", "ber", "co", "da", "el", "fi", "gor", "ha", "in", "jo", "ka", "lu"};
+        Map<String, String> students = new HashMap<>();
+        StudentSearchIndex index = new StudentSearchIndex();
+        for (int i = 0; i < 3_000; i++) {
+            String id = "S" + random.nextInt(5_000);
+            String name = word(random, syllables) + " " + word(random, syllables);
+            if (random.nextInt(10) == 0 && !students.isEmpty()) {
+                String victim = new ArrayList<>(students.keySet()).get(random.nextInt(students.size()));
+                students.remove(victim);
+                index.remove(victim);
+            } else {
+                students.put(id, name);
+                index.put(id, name);
+            }
+        }
+        for (int q = 0; q < 500; q++) {
+            String query = random.nextInt(4) == 0
+                    ? syllables[random.nextInt(syllables.length)] + " " + syllables[random.nextInt(syllables.length)]
+                    : word(random, syllables).substring(random.nextInt(2));
+            assertEquals(Set.copyOf(bruteForce(students, query)), Set.copyOf(index.search(query, 100_000)), query);
+        }
+    }
+
+    private static String word(Random random, String[] syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // The documented rule: the longest word is a prefix of the ID or a name word, or (3+ characters)
+    // a substring of either; every other word occurs somewhere in the ID or name
+    private static List<String> bruteForce(Map<String, String> students, String query) {
+        String[] words = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        String lead = words[0];
+        for (String word : words) {
+            if (word.length() > lead.length()) {
+                lead = word;
+            }
+        }
+        List<String> matches = new ArrayList<>();
+        for (Map.Entry<String, String> student : students.entrySet()) {
+            String id = student.getKey().toLowerCase(Locale.ROOT);
+            String name = student.getValue().toLowerCase(Locale.ROOT);
+            Set<String> terms = new HashSet<>(List.of(name.split("\\s+")));
+            terms.add(id);
+            String leadWord = lead;
+            boolean leadMatches = terms.stream().anyMatch(term -> term.startsWith(leadWord))
+                    || (leadWord.length() >= 3 && (id.contains(leadWord) || name.contains(leadWord)));
+            boolean allMatch = true;
+            for (String word : words) {
+                allMatch &= id.contains(word) || name.contains(word);
+            }
+            if (leadMatches && allMatch) {
+                matches.add(student.getKey());
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,63 @@
+package com.system.util;
+
+import com.system.domain.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CSVUtilTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void exportReadsBackWithoutTheColumnsItDoesNotWrite() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            students.add(new Student("STU" + i, i % 3 == 0 ? "Smith, \"Doc\" " + i : "Name " + i,
+                    i % 4 == 0 ? "Maths,\nStats" : "Computing", 100 * (1 + i % 4), i / 124.999,
+                    "s" + i + "@uni.edu", "0123456789", i % 2 == 0 ? Student.ACTIVE : Student.INACTIVE,
+                    LocalDateTime.of(2020, 1, 1, 0, 0)));
+        }
+        Path file = dir.resolve("students.csv");
+        CSVUtil.exportToCSV(students, file.toString());
+
+        List<Student> read = CSVUtil.importFromCSV(file.toString());
+        assertEquals(students.size(), read.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student expected = students.get(i);
+            Student actual = read.get(i);
+            assertEquals(expected.getStudentId(), actual.getStudentId());
+            assertEquals(expected.getFullName(), actual.getFullName());
+            assertEquals(expected.getProgramme(), actual.getProgramme());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(Math.round(expected.getGpa() * 100) / 100.0, actual.getGpa(), 1e-9);
+            assertNull(actual.getEmail());
+            assertNull(actual.getPhoneNumber());
+            assertTrue(actual.getDateAdded().isAfter(expected.getDateAdded()));
+        }
+    }
+
+    @Test
+    void malformedRowFailsTheImportWithItsLine() throws Exception {
+        Path file = dir.resolve("students.csv");
+        Files.writeString(file, "Student ID,Full Name,Programme,Level,GPA,Status\n"
+                + "STU1,Ann,Computing,100,3.5,Active\n"
+                + "STU2,\"Two\nLines\",Computing,100,2.5,Active\n"
+                + "STU3,Short,Computing\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> CSVUtil.importFromCSV(file.toString()));
+        assertTrue(error.getMessage().startsWith("Line 5:"), error.getMessage());
+    }
+}
@@ -0,0 +1,246 @@
+package com.system.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCsvReaderTest {
+
+    // One chunk for the whole file
+    private static final int ONE_CHUNK = 1 << 30;
+
+    @TempDir
+    Path dir;
+
+    // What the reader reports for one row, in a form that is easy to compare
+    private static final class Row {
+        final long line;
+        final long offset;
+        final int length;
+        final boolean unterminated;
+        final List<String> fields;
+
+        Row(MappedCsvReader.Chunk chunk) {
+            line = chunk.lineNumber();
+            offset = chunk.rowOffset();
+            length = chunk.rowLength();
+            unterminated = chunk.hasUnterminatedQuote();
+            fields = new ArrayList<>();
+            if (!unterminated) {
+                for (int field = 0; field < chunk.fieldCount(); field++) {
+                    fields.add(chunk.text(field));
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + " @" + offset + "+" + length + (unterminated ? " unterminated" : " " + fields);
+        }
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = Files.createTempFile(dir, "students", ".csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Row> read(Path file, int chunkSize) throws Exception {
+        MappedCsvReader reader = new MappedCsvReader();
+        reader.setChunkSize(chunkSize);
+        List<Row> rows = Collections.synchronizedList(new ArrayList<>());
+        reader.read(file, chunk -> {
+            while (chunk.nextRow()) {
+                rows.add(new Row(chunk));
+            }
+        });
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(row -> row.offset));
+        return sorted;
+    }
+
+    private static String describe(List<Row> rows) {
+        return rows.toString();
+    }
+
+    // Every chunk size from one byte up must give the rows of a single chunk
+    private static void assertSameAtEveryChunkSize(Path file) throws Exception {
+        String expected = describe(read(file, ONE_CHUNK));
+        int size = (int) Files.size(file);
+        for (int chunkSize = 1; chunkSize <= size + 1; chunkSize++) {
+            assertEquals(expected, describe(read(file, chunkSize)), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    void quotedFieldsKeepCommasLineBreaksAndEscapedQuotes() throws Exception {
+        Path file = write("id,name,note\n"
+                + "1,\"Smith, Ann\",\"line one\nline two\"\n"
+                + "2,\"say \"\"hi\"\"\",\"\"\"\"\n"
+                + "3,  plain  ,\"  kept  \"\n");
+        List<Row> rows = read(file, ONE_CHUNK);
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of("1", "Smith, Ann", "line one\nline two"), rows.get(0).fields);
+        assertEquals(List.of("2", "say \"hi\"", "\""), rows.get(1).fields);
+        // Unquoted fields are trimmed, quoted ones are not
+        assertEquals(List.of("3", "plain", "  kept  "), rows.get(2).fields);
+        // The quoted line break counts as a line
+        assertEquals(List.of(2L, 4L, 5L), rows.stream().map(row -> row.line).toList());
+    }
+
+    @Test
+    void quotesAcrossChunkBoundariesGiveTheSameRows() throws Exception {
+        // Rows that look like the start of a row inside quoted text: a naive split would cut them here
+        Path file = write("id,name,note\n"
+                + "1,\"a,\n2,\"\"b\"\",\nc\",x\n"
+                + "2,\"\n\n\",y\n"
+                + "3,\"\"\"\n4,z\",w\n"
+                + "5,plain,last\n");
+        assertEquals(4, read(file, ONE_CHUNK).size());
+        assertSameAtEveryChunkSize(file);
+    }
+
+    @Test
+    void crlfAndLoneCrEndRowsLikeLf() throws Exception {
+        Path lf = write("id,name\n1,a\n2,\"b\nc\"\n3,d\n");
+        Path crlf = write("id,name\r\n1,a\r\n2,\"b\r\nc\"\r\n3,d\r\n");
+        Path cr = write("id,name\r1,a\r2,\"b\rc\"\r3,d\r");
+
+        for (Path file : List.of(lf, crlf, cr)) {
+            List<Row> rows = read(file, ONE_CHUNK);
+            assertEquals(3, rows.size(), file.toString());
+            assertEquals(List.of("1", "a"), rows.get(0).fields);
+            assertEquals(List.of("3", "d"), rows.get(2).fields);
+            assertEquals(List.of(2L, 3L, 5L), rows.stream().map(row -> row.line).toList());
+            assertSameAtEveryChunkSize(file);
+        }
+        // The line break inside the quotes is kept as written
+        assertEquals("b\r\nc", read(crlf, ONE_CHUNK).get(1).fields.get(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id,name\n1,a\n2,b", "id,name\n1,a\n2,b\n", "id,name\n1,a\n2,b\n\n\n", "id,name\r\n1,a\r\n\r\n2,b\r\n"})
+    void trailingAndBlankLinesAddNoRows(String content) throws Exception {
+        Path file = write(content);
+        List<Row> rows = read(file, ONE_CHUNK);
+        assertEquals(List.of(List.of("1", "a"), List.of("2", "b")), rows.stream().map(row -> row.fields).toList());
+        assertSameAtEveryChunkSize(file);
+    }
+
+    @Test
+    void headerOnlyAndEmptyFilesHaveNoRows() throws Exception {
+        assertTrue(read(write(""), ONE_CHUNK).isEmpty());
+        assertTrue(read(write("id,name\n"), ONE_CHUNK).isEmpty());
+        assertTrue(read(write("id,name"), ONE_CHUNK).isEmpty());
+    }
+
+    @Test
+    void headerSkipsTheByteOrderMark() throws Exception {
+        Path file = write("\uFEFFStudent ID,Name\nSTU1,Ann\n");
+        assertEquals(List.of("Student ID", "Name"), new MappedCsvReader().readHeader(file));
+        assertEquals(List.of("STU1", "Ann"), read(file, ONE_CHUNK).get(0).fields);
+    }
+
+    @Test
+    void malformedRowsReportTheirLineAndBytes() throws Exception {
+        String content = "id,gpa\n"
+                + "1,3.5\n"
+                + "\"two\nlines\",x\n"
+                + "short\n"
+                + "4,\"never closed\nstill,inside\n";
+        Path file = write(content);
+        List<Row> rows = read(file, ONE_CHUNK);
+        assertEquals(4, rows.size());
+
+        Row multiLine = rows.get(1);
+        assertEquals(3, multiLine.line);
+        assertEquals(content.indexOf("\"two"), multiLine.offset);
+        assertEquals("\"two\nlines\",x".length(), multiLine.length);
+
+        Row shortRow = rows.get(2);
+        assertEquals(5, shortRow.line);
+        assertEquals(content.indexOf("short"), shortRow.offset);
+        assertEquals("short".length(), shortRow.length);
+        assertEquals(List.of("short"), shortRow.fields);
+
+        // The quote runs to the end of the file, so the rest of the file is one row
+        Row unterminated = rows.get(3);
+        assertTrue(unterminated.unterminated);
+        assertEquals(6, unterminated.line);
+        assertEquals(content.indexOf("4,"), unterminated.offset);
+        assertEquals(content.length() - content.indexOf("4,"), unterminated.length);
+        assertSameAtEveryChunkSize(file);
+    }
+
+    @Test
+    void rowOffsetsPointAtTheRawBytesInAMultiByteFile() throws Exception {
+        String content = "id,name\n1,Zoë\n2,\"Łukasz, Jr\"\n3,Ann\n";
+        Path file = write(content);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        for (Row row : read(file, 5)) {
+            String raw = new String(bytes, (int) row.offset, row.length, StandardCharsets.UTF_8);
+            assertEquals(row.fields.get(0), raw.substring(0, 1));
+        }
+        assertEquals(List.of("2", "Łukasz, Jr"), read(file, 5).get(1).fields);
+    }
+
+    @Test
+    void fieldAccessorsRejectMissingColumnsAndBadNumbers() throws Exception {
+        Path file = write("id,gpa,level\n1, 3.25 ,200\n2,abc,\n3,\"4\"\n");
+        MappedCsvReader reader = new MappedCsvReader();
+        List<String> checked = Collections.synchronizedList(new ArrayList<>());
+        reader.read(file, chunk -> {
+            while (chunk.nextRow()) {
+                String id = chunk.text(0);
+                if (id.equals("1")) {
+                    assertEquals(3.25, chunk.doubleValue(1));
+                    assertEquals(200, chunk.intValue(2));
+                } else if (id.equals("2")) {
+                    assertThrows(NumberFormatException.class, () -> chunk.doubleValue(1));
+                    assertThrows(NumberFormatException.class, () -> chunk.intValue(2));
+                    assertTrue(chunk.isEmpty(2));
+                } else {
+                    assertEquals(4.0, chunk.doubleValue(1));
+                    IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> chunk.text(2));
+                    assertTrue(error.getMessage().contains("found 2"), error.getMessage());
+                    assertFalse(chunk.hasUnterminatedQuote());
+                }
+                checked.add(id);
+            }
+        });
+        assertEquals(3, checked.size());
+    }
+
+    @Test
+    void randomFilesParseTheSameAtAnyChunkSize() throws Exception {
+        Random random = new Random(7);
+        String[] pieces = {"a", "bc", " ", ",", "\"", "\"\"", "\n", "\r\n", "\r", "é", "x,\"y\"", "\"q,\nr\""};
+        for (int file = 0; file < 40; file++) {
+            StringBuilder content = new StringBuilder("h1,h2\n");
+            for (int i = 0, n = random.nextInt(60); i < n; i++) {
+                content.append(pieces[random.nextInt(pieces.length)]);
+            }
+            Path path = write(content.toString());
+            String expected = describe(read(path, ONE_CHUNK));
+            for (int chunkSize : new int[] {1, 2, 3, 5, 8, 13, 64}) {
+                assertEquals(expected, describe(read(path, chunkSize)), content + " at chunk size " + chunkSize);
+            }
+        }
+    }
+}
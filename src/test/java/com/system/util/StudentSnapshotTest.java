@@ -0,0 +1,131 @@
+package com.system.util;
+
+import com.system.domain.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Student> students() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            students.add(new Student("STU" + i, "Student Ñame " + i, i % 7 == 0 ? null : "Programme " + (i % 5),
+                    100 * (1 + i % 4), i % 401 / 100.0, i % 3 == 0 ? null : "s" + i + "@uni.edu", "0123456789",
+                    i % 2 == 0 ? Student.ACTIVE : Student.INACTIVE,
+                    i % 11 == 0 ? null : LocalDateTime.of(2024, 1, 1, 8, 30, 15, i * 1_000)));
+        }
+        return students;
+    }
+
+    private static void write(Path file, List<Student> students) throws IOException {
+        try (StudentSnapshotWriter writer = new StudentSnapshotWriter(file)) {
+            for (Student student : students) {
+                writer.write(student);
+            }
+            writer.finish();
+        }
+    }
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        Path file = dir.resolve("students.smss");
+        List<Student> students = students();
+        write(file, students);
+
+        List<Student> read = new ArrayList<>();
+        try (StudentSnapshotReader reader = new StudentSnapshotReader(file)) {
+            assertEquals(students.size(), reader.getRowCount());
+            reader.forEachRemaining(read::add);
+        }
+        assertEquals(students.size(), read.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student expected = students.get(i);
+            Student actual = read.get(i);
+            assertEquals(expected.getStudentId(), actual.getStudentId());
+            assertEquals(expected.getFullName(), actual.getFullName());
+            assertEquals(expected.getProgramme(), actual.getProgramme());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getGpa(), actual.getGpa());
+            assertEquals(expected.getEmail(), actual.getEmail());
+            assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getDateAdded(), actual.getDateAdded());
+        }
+        // Only the snapshot itself is left behind
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void rejectsAChangedHeaderField() throws IOException {
+        Path file = dir.resolve("students.smss");
+        write(file, students());
+        // Claim one row fewer: the rows and dictionary are intact, only the header changed
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(8);
+            long rows = raw.readLong();
+            raw.seek(8);
+            raw.writeLong(rows - 1);
+        }
+        IOException error = assertThrows(IOException.class, () -> new StudentSnapshotReader(file).close());
+        assertTrue(error.getMessage().contains("checksum"), error.getMessage());
+    }
+
+    @Test
+    void rejectsAChangedRow() throws IOException {
+        Path file = dir.resolve("students.smss");
+        write(file, students());
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(StudentSnapshotFormat.HEADER_SIZE + 5);
+            int b = raw.read();
+            raw.seek(StudentSnapshotFormat.HEADER_SIZE + 5);
+            raw.write(b ^ 1);
+        }
+        assertThrows(IOException.class, () -> new StudentSnapshotReader(file).close());
+    }
+
+    @Test
+    void unfinishedExportLeavesTheExistingSnapshotUntouched() throws IOException {
+        Path file = dir.resolve("students.smss");
+        write(file, students());
+        byte[] before = Files.readAllBytes(file);
+
+        try (StudentSnapshotWriter writer = new StudentSnapshotWriter(file)) {
+            writer.write(students().get(0));
+            assertFalse(writer.isFinished());
+            // Closed without finish(), as when the database cursor fails midway
+        }
+        assertArrayEquals(before, Files.readAllBytes(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void emptySnapshotHasNoRows() throws IOException {
+        Path file = dir.resolve("empty.smss");
+        write(file, List.of());
+        try (StudentSnapshotReader reader = new StudentSnapshotReader(file)) {
+            assertEquals(0, reader.getRowCount());
+            assertFalse(reader.hasNext());
+        }
+    }
+}